@@ -0,0 +1,120 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import mx.unam.ciencias.edd.ArbolAVL;
+import mx.unam.ciencias.edd.ArbolBinarioOrdenado;
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import mx.unam.ciencias.edd.Lista;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Bancos de rendimiento para {@link ArbolAVL} y {@link ArbolRojinegro}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArbolBenchmark {
+
+    /* Cuántos árboles vacía cada invocación de elimina, para que el tiempo
+     * medido no sea tan corto junto al de reconstruirlos. */
+    private static final int LOTE = 16;
+
+    /**
+     * Árboles llenos para elimina, que se reconstruyen antes de cada
+     * invocación.
+     */
+    @State(Scope.Thread)
+    public static class Arboles {
+
+        /* Los árboles, con todos los elementos. */
+        private Lista<ArbolBinarioOrdenado<Integer>> arboles;
+
+        /* Reconstruye los árboles, porque elimina los vacía. */
+        @Setup(Level.Invocation) public void prepara(ArbolBenchmark banco) {
+            arboles = new Lista<>();
+            for (int i = 0; i < LOTE; i++)
+                arboles.agrega(banco.lleno());
+        }
+    }
+
+    /* El tipo de árbol. */
+    @Param({ "AVL", "ROJINEGRO" })
+    private String tipo;
+
+    /* El número de elementos. */
+    @Param({ "1000", "100000" })
+    private int n;
+
+    /* Los elementos, en orden aleatorio. */
+    private Integer[] elementos;
+    /* Un árbol con todos los elementos. */
+    private ArbolBinarioOrdenado<Integer> arbol;
+
+    /* Crea un árbol vacío del tipo correspondiente. */
+    private ArbolBinarioOrdenado<Integer> nuevoArbol() {
+        if (tipo.equals("AVL"))
+            return new ArbolAVL<>();
+        return new ArbolRojinegro<>();
+    }
+
+    /* Prepara los elementos y el árbol con todos ellos, que busca no
+     * modifica. */
+    @Setup(Level.Trial) public void preparaElementos() {
+        Random random = new Random(n);
+        elementos = new Integer[n];
+        for (int i = 0; i < n; i++)
+            elementos[i] = random.nextInt();
+        arbol = lleno();
+    }
+
+    /* Crea un árbol con todos los elementos. */
+    private ArbolBinarioOrdenado<Integer> lleno() {
+        ArbolBinarioOrdenado<Integer> lleno = nuevoArbol();
+        for (Integer elemento : elementos)
+            lleno.agrega(elemento);
+        return lleno;
+    }
+
+    /* Agrega n elementos a un árbol vacío. */
+    @Benchmark public ArbolBinarioOrdenado<Integer> agrega() {
+        ArbolBinarioOrdenado<Integer> nuevo = nuevoArbol();
+        for (Integer elemento : elementos)
+            nuevo.agrega(elemento);
+        return nuevo;
+    }
+
+    /* Busca todos los elementos. */
+    @Benchmark public void busca(Blackhole blackhole) {
+        for (Integer elemento : elementos)
+            blackhole.consume(arbol.busca(elemento));
+    }
+
+    /* Elimina todos los elementos de cada árbol del lote; el tiempo es por
+     * árbol. */
+    @Benchmark @OperationsPerInvocation(LOTE)
+    public void elimina(Arboles arboles, Blackhole blackhole) {
+        for (ArbolBinarioOrdenado<Integer> vaciado : arboles.arboles) {
+            for (Integer elemento : elementos)
+                vaciado.elimina(elemento);
+            blackhole.consume(vaciado);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import mx.unam.ciencias.edd.ComparableIndexable;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.MonticuloArreglo;
+import mx.unam.ciencias.edd.MonticuloDArio;
+import mx.unam.ciencias.edd.MonticuloDijkstra;
+import mx.unam.ciencias.edd.MonticuloEmparejamiento;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Bancos de rendimiento de Dijkstra con cada montículo, según la densidad de
+ * la gráfica. Con ellos se eligió el {@link MonticuloDArio} que usa {@link
+ * mx.unam.ciencias.edd.Grafica#dijkstra} cuando los pesos no son enteros. Las
+ * gráficas son aleatorias, conexas, con pesos reales, para que Dijkstra no
+ * use la cola de cubetas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DensidadBenchmark {
+
+    /* Vértice para Dijkstra sobre las listas de adyacencias. */
+    private static class Vertice implements ComparableIndexable<Vertice> {
+
+        /* El índice del vértice en la gráfica. */
+        private int id;
+        /* La distancia del vértice. */
+        private double distancia;
+        /* El índice del vértice en el montículo. */
+        private int indice;
+
+        /* Crea un vértice con el índice recibido. */
+        public Vertice(int id) {
+            this.id = id;
+        }
+
+        /* Define el índice del vértice en el montículo. */
+        @Override public void setIndice(int indice) {
+            this.indice = indice;
+        }
+
+        /* Regresa el índice del vértice en el montículo. */
+        @Override public int getIndice() {
+            return indice;
+        }
+
+        /* Compara dos vértices por distancia. */
+        @Override public int compareTo(Vertice vertice) {
+            return Double.compare(distancia, vertice.distancia);
+        }
+    }
+
+    /* El número de vértices. */
+    @Param({ "1000", "3000" })
+    private int n;
+
+    /* La fracción de todas las aristas posibles que tiene la gráfica. */
+    @Param({ "0.01", "0.05", "0.1", "0.25", "0.5", "0.75", "0.9" })
+    private double densidad;
+
+    /* El montículo que usa Dijkstra. */
+    @Param({ "dario", "emparejamiento", "arreglo" })
+    private String monticulo;
+
+    /* Los vecinos de cada vértice. */
+    private int[][] vecinos;
+    /* Los pesos de las aristas, en las mismas posiciones que los vecinos. */
+    private double[][] pesos;
+    /* Los vértices. */
+    private Vertice[] vertices;
+
+    /* Genera la gráfica: un árbol aleatorio para que sea conexa, más cada
+     * una de las otras aristas con probabilidad igual a la densidad. */
+    @Setup(Level.Trial) public void prepara() {
+        Random random = new Random(n);
+        int[] grados = new int[n];
+        Lista<int[]> lista = new Lista<>();
+        for (int i = 1; i < n; i++)
+            lista.agrega(new int[] { i, random.nextInt(i) });
+        for (int i = 0; i < n; i++)
+            for (int j = i + 1; j < n; j++)
+                if (random.nextDouble() < densidad)
+                    lista.agrega(new int[] { i, j });
+        for (int[] arista : lista) {
+            grados[arista[0]]++;
+            grados[arista[1]]++;
+        }
+        vecinos = new int[n][];
+        pesos = new double[n][];
+        vertices = new Vertice[n];
+        for (int i = 0; i < n; i++) {
+            vecinos[i] = new int[grados[i]];
+            pesos[i] = new double[grados[i]];
+            vertices[i] = new Vertice(i);
+            grados[i] = 0;
+        }
+        for (int[] arista : lista) {
+            double peso = 0.1 + 10 * random.nextDouble();
+            int a = arista[0], b = arista[1];
+            vecinos[a][grados[a]] = b;
+            pesos[a][grados[a]++] = peso;
+            vecinos[b][grados[b]] = a;
+            pesos[b][grados[b]++] = peso;
+        }
+    }
+
+    /* Crea el montículo del parámetro con todos los vértices. */
+    private MonticuloDijkstra<Vertice> monticulo(Lista<Vertice> lista) {
+        switch (monticulo) {
+        case "dario":          return new MonticuloDArio<>(lista, n);
+        case "emparejamiento": return new MonticuloEmparejamiento<>(lista, n);
+        case "arreglo":        return new MonticuloArreglo<>(lista, n);
+        default: throw new IllegalArgumentException("montículo inválido");
+        }
+    }
+
+    /* Calcula las distancias mínimas desde el vértice 0 y regresa su
+     * suma. */
+    @Benchmark public double dijkstra() {
+        Lista<Vertice> lista = new Lista<>();
+        for (Vertice vertice : vertices) {
+            vertice.distancia = Double.MAX_VALUE;
+            lista.agrega(vertice);
+        }
+        vertices[0].distancia = 0;
+        MonticuloDijkstra<Vertice> cola = monticulo(lista);
+        double suma = 0;
+        while (!cola.esVacia()) {
+            Vertice minimo = cola.elimina();
+            suma += minimo.distancia;
+            int u = minimo.id;
+            for (int j = 0; j < vecinos[u].length; j++) {
+                Vertice v = vertices[vecinos[u][j]];
+                double distancia = minimo.distancia + pesos[u][j];
+                if (distancia < v.distancia) {
+                    v.distancia = distancia;
+                    cola.reordena(v);
+                }
+            }
+        }
+        return suma;
+    }
+}
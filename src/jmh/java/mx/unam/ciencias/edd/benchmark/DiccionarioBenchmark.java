@@ -0,0 +1,108 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.Lista;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Bancos de rendimiento para {@link Diccionario}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiccionarioBenchmark {
+
+    /* Cuántos diccionarios vacía cada invocación de elimina, para que el
+     * tiempo medido no sea tan corto junto al de reconstruirlos. */
+    private static final int LOTE = 16;
+
+    /**
+     * Diccionarios llenos para elimina, que se reconstruyen antes de cada
+     * invocación.
+     */
+    @State(Scope.Thread)
+    public static class Diccionarios {
+
+        /* Los diccionarios, con todas las llaves. */
+        private Lista<Diccionario<Integer, Integer>> diccionarios;
+
+        /* Reconstruye los diccionarios, porque elimina los vacía. */
+        @Setup(Level.Invocation) public void prepara(DiccionarioBenchmark banco) {
+            diccionarios = new Lista<>();
+            for (int i = 0; i < LOTE; i++)
+                diccionarios.agrega(banco.lleno());
+        }
+    }
+
+    /* El número de llaves. */
+    @Param({ "1000", "100000" })
+    private int n;
+
+    /* Las llaves, en orden aleatorio. */
+    private Integer[] llaves;
+    /* Un diccionario con todas las llaves. */
+    private Diccionario<Integer, Integer> diccionario;
+
+    /* Prepara las llaves y el diccionario con todas ellas, que get no
+     * modifica. */
+    @Setup(Level.Trial) public void preparaLlaves() {
+        Random random = new Random(n);
+        llaves = new Integer[n];
+        for (int i = 0; i < n; i++)
+            llaves[i] = random.nextInt();
+        diccionario = lleno();
+    }
+
+    /* Crea un diccionario con todas las llaves. */
+    private Diccionario<Integer, Integer> lleno() {
+        Diccionario<Integer, Integer> lleno = new Diccionario<>();
+        for (Integer llave : llaves)
+            lleno.agrega(llave, llave);
+        return lleno;
+    }
+
+    /* Agrega n llaves a un diccionario vacío. */
+    @Benchmark public Diccionario<Integer, Integer> agrega() {
+        Diccionario<Integer, Integer> nuevo = new Diccionario<>();
+        for (Integer llave : llaves)
+            nuevo.agrega(llave, llave);
+        return nuevo;
+    }
+
+    /* Busca todas las llaves. */
+    @Benchmark public void get(Blackhole blackhole) {
+        for (Integer llave : llaves)
+            blackhole.consume(diccionario.get(llave));
+    }
+
+    /* Elimina todas las llaves de cada diccionario del lote; el tiempo es
+     * por diccionario. */
+    @Benchmark @OperationsPerInvocation(LOTE)
+    public void elimina(Diccionarios diccionarios, Blackhole blackhole) {
+        for (Diccionario<Integer, Integer> vaciado : diccionarios.diccionarios) {
+            for (Integer llave : llaves)
+                if (vaciado.contiene(llave))
+                    vaciado.elimina(llave);
+            blackhole.consume(vaciado);
+        }
+    }
+}
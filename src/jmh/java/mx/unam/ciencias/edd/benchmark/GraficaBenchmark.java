@@ -0,0 +1,73 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import mx.unam.ciencias.edd.Grafica;
+import mx.unam.ciencias.edd.Heuristica;
+import mx.unam.ciencias.edd.Heuristicas;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.VerticeGrafica;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Bancos de rendimiento para {@link Grafica} sobre laberintos generados por
+ * {@link Laberintos}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraficaBenchmark {
+
+    /* El lado del laberinto cuadrado. */
+    @Param({ "32", "128" })
+    private int lado;
+
+    /* El peso máximo de las aristas. */
+    @Param({ "1", "10" })
+    private int pesoMaximo;
+
+    /* El laberinto. */
+    private Grafica<Integer> laberinto;
+    /* La heurística para A*. */
+    private Heuristica<Integer> manhattan;
+    /* La celda de entrada y la de salida. */
+    private int entrada, salida;
+
+    /* Genera el laberinto. */
+    @Setup public void prepara() {
+        laberinto = Laberintos.genera(lado, lado, 0.05, lado, pesoMaximo);
+        entrada = 0;
+        salida = lado * lado - 1;
+        manhattan = Heuristicas.manhattan(lado);
+    }
+
+    /* Resuelve el laberinto de esquina a esquina con Dijkstra. */
+    @Benchmark public Lista<VerticeGrafica<Integer>> dijkstra() {
+        return laberinto.dijkstra(entrada, salida);
+    }
+
+    /* Resuelve el laberinto de esquina a esquina con A* y distancia
+     * Manhattan. */
+    @Benchmark public Lista<VerticeGrafica<Integer>> aStar() {
+        return laberinto.aStar(entrada, salida, manhattan);
+    }
+
+    /* Recorre todo el laberinto con BFS. */
+    @Benchmark public void bfs(Blackhole blackhole) {
+        laberinto.bfs(entrada, v -> blackhole.consume(v));
+    }
+}
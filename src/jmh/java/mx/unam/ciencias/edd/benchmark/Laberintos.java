@@ -0,0 +1,74 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.Random;
+
+import mx.unam.ciencias.edd.Grafica;
+import mx.unam.ciencias.edd.Pila;
+
+/**
+ * Clase auxiliar para generar laberintos de prueba para los bancos de
+ * rendimiento. Los laberintos son cuadrículas de <i>ancho</i> por <i>alto</i>
+ * celdas, donde la celda (<i>x</i>, <i>y</i>) es el entero <i>y</i> *
+ * <i>ancho</i> + <i>x</i>.
+ */
+public class Laberintos {
+
+    /* Constructor privado para evitar instanciación. */
+    private Laberintos() {}
+
+    /**
+     * Genera un laberinto perfecto con DFS aleatorizado, y después tira
+     * algunas paredes extra para que haya más de una trayectoria entre dos
+     * celdas.
+     * @param ancho el ancho de la cuadrícula.
+     * @param alto el alto de la cuadrícula.
+     * @param extra la fracción de paredes extra a tirar.
+     * @param semilla la semilla del generador de números aleatorios.
+     * @param pesoMaximo el peso máximo (entero) de las aristas; con 1 todas las
+     *        aristas pesan lo mismo.
+     * @return la gráfica del laberinto.
+     */
+    public static Grafica<Integer> genera(int ancho, int alto, double extra,
+                                          long semilla, int pesoMaximo) {
+        Random random = new Random(semilla);
+        Grafica<Integer> grafica = new Grafica<>();
+        int n = ancho * alto;
+        for (int i = 0; i < n; i++)
+            grafica.agrega(i);
+
+        boolean[] visitadas = new boolean[n];
+        int[] vecinos = new int[4];
+        Pila<Integer> pila = new Pila<>();
+        visitadas[0] = true;
+        pila.mete(0);
+        while (!pila.esVacia()) {
+            int celda = pila.mira();
+            int k = 0;
+            int x = celda % ancho, y = celda / ancho;
+            if (x > 0 && !visitadas[celda - 1])         vecinos[k++] = celda - 1;
+            if (x < ancho - 1 && !visitadas[celda + 1]) vecinos[k++] = celda + 1;
+            if (y > 0 && !visitadas[celda - ancho])     vecinos[k++] = celda - ancho;
+            if (y < alto - 1 && !visitadas[celda + ancho])
+                vecinos[k++] = celda + ancho;
+            if (k == 0) {
+                pila.saca();
+                continue;
+            }
+            int siguiente = vecinos[random.nextInt(k)];
+            grafica.conecta(celda, siguiente, 1 + random.nextInt(pesoMaximo));
+            visitadas[siguiente] = true;
+            pila.mete(siguiente);
+        }
+
+        int paredes = (int)(extra * n);
+        for (int i = 0; i < paredes; i++) {
+            int celda = random.nextInt(n);
+            int otra = (random.nextBoolean()) ? celda + 1 : celda + ancho;
+            if ((otra == celda + 1 && celda % ancho == ancho - 1) || otra >= n)
+                continue;
+            if (!grafica.sonVecinos(celda, otra))
+                grafica.conecta(celda, otra, 1 + random.nextInt(pesoMaximo));
+        }
+        return grafica;
+    }
+}
@@ -0,0 +1,69 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import mx.unam.ciencias.edd.Lista;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Bancos de rendimiento para {@link Lista}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListaBenchmark {
+
+    /* El número de elementos. */
+    @Param({ "1000", "100000" })
+    private int n;
+
+    /* Los elementos, en orden aleatorio. */
+    private Integer[] elementos;
+    /* Una lista con los elementos. */
+    private Lista<Integer> lista;
+
+    /* Prepara los elementos y la lista. */
+    @Setup public void prepara() {
+        Random random = new Random(n);
+        elementos = new Integer[n];
+        lista = new Lista<>();
+        for (int i = 0; i < n; i++) {
+            elementos[i] = random.nextInt();
+            lista.agrega(elementos[i]);
+        }
+    }
+
+    /* Agrega n elementos a una lista vacía. */
+    @Benchmark public Lista<Integer> agrega() {
+        Lista<Integer> nueva = new Lista<>();
+        for (Integer elemento : elementos)
+            nueva.agrega(elemento);
+        return nueva;
+    }
+
+    /* Obtiene elementos en posiciones repartidas por toda la lista. */
+    @Benchmark public void get(Blackhole blackhole) {
+        for (int i = 0; i < n; i += n / 16)
+            blackhole.consume(lista.get(i));
+    }
+
+    /* Ordena la lista con MergeSort. */
+    @Benchmark public Lista<Integer> mergeSort() {
+        return Lista.mergeSort(lista);
+    }
+}
@@ -0,0 +1,114 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.MonticuloMinimo;
+import mx.unam.ciencias.edd.ValorIndexable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Bancos de rendimiento para {@link MonticuloMinimo}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MonticuloBenchmark {
+
+    /* Cuántos montículos modifica cada invocación de elimina y reordena,
+     * para que el tiempo medido no sea tan corto junto al de
+     * reconstruirlos. */
+    private static final int LOTE = 16;
+
+    /**
+     * Montículos llenos para los bancos que los modifican, que se
+     * reconstruyen antes de cada invocación.
+     */
+    @State(Scope.Thread)
+    public static class Monticulos {
+
+        /* Los elementos de cada montículo. */
+        private Lista<Lista<ValorIndexable<Integer>>> elementos;
+        /* Los montículos, con todos los elementos. */
+        private Lista<MonticuloMinimo<ValorIndexable<Integer>>> monticulos;
+
+        /* Reconstruye los montículos, porque los bancos los modifican. */
+        @Setup(Level.Invocation) public void prepara(MonticuloBenchmark banco) {
+            elementos = new Lista<>();
+            monticulos = new Lista<>();
+            for (int i = 0; i < LOTE; i++) {
+                Lista<ValorIndexable<Integer>> lista = new Lista<>();
+                for (int j = 0; j < banco.n; j++)
+                    lista.agrega(new ValorIndexable<>(j, banco.valores[j]));
+                elementos.agrega(lista);
+                monticulos.agrega(new MonticuloMinimo<>(lista, banco.n));
+            }
+        }
+    }
+
+    /* El número de elementos. */
+    @Param({ "1000", "100000" })
+    private int n;
+
+    /* Los valores, en orden aleatorio. */
+    private double[] valores;
+
+    /* Prepara los valores. */
+    @Setup(Level.Trial) public void preparaValores() {
+        Random random = new Random(n);
+        valores = new double[n];
+        for (int i = 0; i < n; i++)
+            valores[i] = random.nextDouble();
+    }
+
+    /* Agrega n elementos uno por uno a un montículo vacío. */
+    @Benchmark public MonticuloMinimo<ValorIndexable<Integer>> agrega() {
+        MonticuloMinimo<ValorIndexable<Integer>> nuevo = new MonticuloMinimo<>();
+        for (int i = 0; i < n; i++)
+            nuevo.agrega(new ValorIndexable<>(i, valores[i]));
+        return nuevo;
+    }
+
+    /* Vacía cada montículo del lote; el tiempo es por montículo. */
+    @Benchmark @OperationsPerInvocation(LOTE)
+    public void elimina(Monticulos monticulos, Blackhole blackhole) {
+        for (MonticuloMinimo<ValorIndexable<Integer>> monticulo :
+                 monticulos.monticulos)
+            while (!monticulo.esVacia())
+                blackhole.consume(monticulo.elimina());
+    }
+
+    /* Disminuye el valor de cada elemento y lo reordena, como lo hace
+     * Dijkstra, en cada montículo del lote; el tiempo es por montículo. */
+    @Benchmark @OperationsPerInvocation(LOTE)
+    public void reordena(Monticulos monticulos, Blackhole blackhole) {
+        Iterator<Lista<ValorIndexable<Integer>>> elementos =
+            monticulos.elementos.iterator();
+        for (MonticuloMinimo<ValorIndexable<Integer>> monticulo :
+                 monticulos.monticulos) {
+            for (ValorIndexable<Integer> elemento : elementos.next()) {
+                elemento.setValor(elemento.getValor() / 2.0);
+                monticulo.reordena(elemento);
+            }
+            blackhole.consume(monticulo);
+        }
+    }
+}
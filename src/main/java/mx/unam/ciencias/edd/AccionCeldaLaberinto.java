@@ -0,0 +1,14 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Interfaz para realizar acciones sobre celdas de laberintos.
+ */
+@FunctionalInterface
+public interface AccionCeldaLaberinto {
+
+    /**
+     * Realiza una acción sobre una celda de laberinto.
+     * @param celda el índice de la celda sobre la que se realizará la acción.
+     */
+    public void actua(int celda);
+}
@@ -0,0 +1,14 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Interfaz para realizar acciones sobre elementos de gráficas compactas.
+ */
+@FunctionalInterface
+public interface AccionElementoGrafica<T> {
+
+    /**
+     * Realiza una acción sobre un elemento de gráfica.
+     * @param elemento el elemento sobre el que se realizará la acción.
+     */
+    public void actua(T elemento);
+}
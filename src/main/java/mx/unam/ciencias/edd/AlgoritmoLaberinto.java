@@ -0,0 +1,19 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Enumeración para los algoritmos disponibles para generar laberintos (ver
+ * {@link GeneradorLaberintos}).
+ */
+public enum AlgoritmoLaberinto {
+    /** DFS aleatorizado; produce pasillos largos y pocas bifurcaciones. */
+    DFS,
+    /** Kruskal aleatorizado con conjuntos disjuntos, en paralelo por
+     *  bandas de renglones. */
+    KRUSKAL,
+    /** Caminatas aleatorias con borrado de ciclos de Wilson; produce un
+     *  árbol generador uniforme. */
+    WILSON,
+    /** Algoritmo de Eller, renglón por renglón, en paralelo por bandas de
+     *  renglones. */
+    ELLER;
+}
@@ -14,11 +14,11 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
     private class Iterador implements Iterator<T> {
 
         /* Cola para recorrer los vértices en BFS. */
-        private Cola<Vertice> cola;
+        private ColaArreglo<Vertice> cola;
 
         /* Inicializa al iterador. */
         private Iterador() {
-            cola = new Cola<Vertice> ();
+            cola = new ColaArreglo<Vertice>();
 
             if (raiz != null)
                 cola.mete(raiz);
@@ -179,7 +179,7 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
     }
 
     private VerticeArbolBinario<T> recorridoBFS2(){
-        Cola <Vertice> cola = new Cola<>();
+        ColaArreglo<Vertice> cola = new ColaArreglo<>();
         cola.mete(raiz);
         Vertice ultimo = raiz;
         Vertice actual;
@@ -225,7 +225,7 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
     public void bfs(AccionVerticeArbolBinario<T> accion) {
         if(raiz == null)
             return;
-        Cola<Vertice> cola = new Cola<Vertice>();
+        ColaArreglo<Vertice> cola = new ColaArreglo<>();
         cola.mete(raiz);
 
         Vertice v;
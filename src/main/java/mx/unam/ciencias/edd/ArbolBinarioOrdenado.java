@@ -21,12 +21,12 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
     private class Iterador implements Iterator<T> {
 
         /* Pila para recorrer los vértices en DFS in-order. */
-        private Pila<Vertice> pila;
+        private PilaArreglo<Vertice> pila;
 
         /* Inicializa al iterador. */
         private Iterador() {
             //reinicio de la pila;
-            pila = new Pila<Vertice>();
+            pila = new PilaArreglo<Vertice>();
             
             if(raiz == null)
                 return;
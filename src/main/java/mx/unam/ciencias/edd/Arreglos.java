@@ -1,53 +1,121 @@
 package mx.unam.ciencias.edd;
 
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Clase para ordenar y buscar arreglos genéricos.
  */
 public class Arreglos {
 
+    /* Tarea que ordena un intervalo con HeapSort si es chico, o lo parte a
+     * la mitad, ordena las mitades en paralelo y las mezcla. */
+    private static class Ordenamiento extends RecursiveAction {
+
+        /* El arreglo a ordenar: genérico, o de enteros, enteros largos o
+         * dobles. */
+        private Object arreglo;
+        /* El arreglo auxiliar para mezclar, del mismo tipo y tamaño. */
+        private Object auxiliar;
+        /* El comparador, si el arreglo es genérico. */
+        private Comparator<Object> comparador;
+        /* El inicio del intervalo. */
+        private int desde;
+        /* El final del intervalo. */
+        private int hasta;
+
+        /* Crea una tarea para el intervalo [desde, hasta) del arreglo. */
+        public Ordenamiento(Object arreglo, Object auxiliar,
+                            Comparator<Object> comparador,
+                            int desde, int hasta) {
+            this.arreglo = arreglo;
+            this.auxiliar = auxiliar;
+            this.comparador = comparador;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        /* Ordena el intervalo, o lo parte en dos tareas y las mezcla. */
+        @Override protected void compute() {
+            if (hasta - desde <= UMBRAL_PARALELO) {
+                ordena(arreglo, comparador, desde, hasta);
+                return;
+            }
+            int mitad = (desde + hasta) >>> 1;
+            invokeAll(new Ordenamiento(arreglo, auxiliar, comparador, desde, mitad),
+                      new Ordenamiento(arreglo, auxiliar, comparador, mitad, hasta));
+            mezcla(arreglo, auxiliar, comparador, desde, mitad, hasta);
+        }
+    }
+
+    /* Tarea que ordena un intervalo con introsort si es chico, o lo parte
+     * alrededor de un pivote y ordena las dos partes en paralelo. */
+    private static class OrdenamientoRapido extends RecursiveAction {
+
+        /* El arreglo a ordenar. */
+        private Object[] arreglo;
+        /* El comparador. */
+        private Comparator<Object> comparador;
+        /* El inicio del intervalo. */
+        private int desde;
+        /* El final del intervalo. */
+        private int hasta;
+        /* Los niveles que quedan antes de usar HeapSort. */
+        private int profundidad;
+
+        /* Crea una tarea para el intervalo [desde, hasta) del arreglo. */
+        public OrdenamientoRapido(Object[] arreglo, Comparator<Object> comparador,
+                                  int desde, int hasta, int profundidad) {
+            this.arreglo = arreglo;
+            this.comparador = comparador;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.profundidad = profundidad;
+        }
+
+        /* Ordena el intervalo, o lo parte en dos tareas. */
+        @Override protected void compute() {
+            if (hasta - desde <= UMBRAL_PARALELO || profundidad == 0) {
+                quickSort(arreglo, comparador, desde, hasta, profundidad);
+                return;
+            }
+            int p = particiona(arreglo, comparador, desde, hasta);
+            invokeAll(new OrdenamientoRapido(arreglo, comparador, desde, p,
+                                             profundidad - 1),
+                      new OrdenamientoRapido(arreglo, comparador, p, hasta,
+                                             profundidad - 1));
+        }
+    }
+
+    /* Tamaño de intervalo debajo del cual los ordenamientos paralelos ya no
+     * parten el trabajo. */
+    private static final int UMBRAL_PARALELO = 1 << 13;
+    /* Tamaño de intervalo debajo del cual QuickSort ordena por inserción. */
+    private static final int UMBRAL_INSERCION = 16;
+
     /* Constructor privado para evitar instanciación. */
     private Arreglos() {}
 
     /**
-     * Ordena el arreglo recibido usando QickSort.
+     * Ordena el arreglo recibido usando QuickSort. Es un <i>introsort</i>:
+     * el pivote es la mediana del primero, el de en medio y el último de
+     * cada intervalo, los intervalos chicos se ordenan por inserción, y si la
+     * recursión pasa de 2 log <i>n</i> niveles el intervalo se ordena con
+     * HeapSort; así que toma tiempo <i>O</i>(<i>n</i> log <i>n</i>) aun con
+     * arreglos ordenados, y la pila crece a lo más <i>O</i>(log <i>n</i>).
      * @param <T> tipo del que puede ser el arreglo.
      * @param arreglo el arreglo a ordenar.
      * @param comparador el comparador para ordenar el arreglo.
      */
     public static <T> void
     quickSort(T[] arreglo, Comparator<T> comparador) {
-        quickSort(arreglo, comparador, 0, arreglo.length-1 );
+        quickSort(arreglo, comparador, 0, arreglo.length,
+                  profundidad(arreglo.length));
     }
 
-    private static <T> void quickSort (T[] arreglo, Comparator<T> comparador, int a, int b){
-        if (b <= a)
-            return;
-        
-        int midleft = a + 1;
-        int midright = b;
-        int resultado;
-        while (midleft < midright){
-            if ((resultado =(comparador.compare(arreglo[midleft],arreglo[a]))) > 0 && (comparador.compare(arreglo[midright], arreglo[a]))<=0)
-
-                intercambio(arreglo, midleft++, midright --);
-            else if (resultado <= 0)
-                midleft++;
-            else 
-                midright--;
-        }
-
-        if (comparador.compare(arreglo[midleft], arreglo[a]) > 0)
-            midleft--;
-        
-        intercambio(arreglo, a, midleft);
-        quickSort(arreglo, comparador, a, midleft-1);
-        quickSort(arreglo, comparador, midleft+1, b);
-
-    }
     /**
-     * Ordena el arreglo recibido usando QickSort.
+     * Ordena el arreglo recibido usando QuickSort.
      * @param <T> tipo del que puede ser el arreglo.
      * @param arreglo un arreglo cuyos elementos son comparables.
      */
@@ -56,6 +124,109 @@ public class Arreglos {
         quickSort(arreglo, (a, b) -> a.compareTo(b));
     }
 
+    /**
+     * Ordena el arreglo recibido usando QuickSort en paralelo, con el
+     * <i>pool</i> común. Las dos partes de cada partición se ordenan en
+     * paralelo mientras sean grandes; el resto es como en {@link
+     * #quickSort(Object[],Comparator)}, y no usa memoria adicional.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param comparador el comparador para ordenar el arreglo.
+     */
+    public static <T> void
+    quickSortParalelo(T[] arreglo, Comparator<T> comparador) {
+        quickSortParalelo(arreglo, comparador, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Ordena el arreglo recibido usando QuickSort en paralelo, con el
+     * <i>pool</i> recibido. Ver {@link
+     * #quickSortParalelo(Object[],Comparator)}.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param comparador el comparador para ordenar el arreglo.
+     * @param pool el <i>pool</i> en el que se ordena.
+     */
+    @SuppressWarnings("unchecked") public static <T> void
+    quickSortParalelo(T[] arreglo, Comparator<T> comparador, ForkJoinPool pool) {
+        int profundidad = profundidad(arreglo.length);
+        if (arreglo.length <= UMBRAL_PARALELO)
+            quickSort(arreglo, comparador, 0, arreglo.length, profundidad);
+        else
+            pool.invoke(new OrdenamientoRapido(arreglo,
+                                               (Comparator<Object>)comparador,
+                                               0, arreglo.length,
+                                               profundidad));
+    }
+
+    /* Regresa el número de niveles de QuickSort después de los cuales se
+     * usa HeapSort: dos veces el logaritmo base 2 de n. */
+    private static int profundidad(int n) {
+        return 2 * (31 - Integer.numberOfLeadingZeros(Math.max(n, 1)));
+    }
+
+    /* Ordena el intervalo [a, b) con introsort; la recursión va sobre la
+     * parte más chica y el ciclo sobre la más grande. */
+    private static <T> void quickSort(T[] arreglo, Comparator<T> comparador,
+                                      int a, int b, int profundidad) {
+        while (b - a > UMBRAL_INSERCION) {
+            if (profundidad-- == 0) {
+                heapSort(arreglo, comparador, a, b);
+                return;
+            }
+            int p = particiona(arreglo, comparador, a, b);
+            if (p - a < b - p) {
+                quickSort(arreglo, comparador, a, p, profundidad);
+                a = p;
+            } else {
+                quickSort(arreglo, comparador, p, b, profundidad);
+                b = p;
+            }
+        }
+        insercion(arreglo, comparador, a, b);
+    }
+
+    /* Parte el intervalo [a, b), de al menos tres elementos, alrededor de la
+     * mediana de tres; regresa p tal que [a, p) no tiene elementos mayores
+     * que el pivote, [p, b) no tiene menores, y ninguno de los dos es
+     * vacío. */
+    private static <T> int particiona(T[] arreglo, Comparator<T> comparador,
+                                      int a, int b) {
+        int m = (a + b - 1) >>> 1;
+        if (comparador.compare(arreglo[m], arreglo[a]) < 0)
+            intercambio(arreglo, a, m);
+        if (comparador.compare(arreglo[b - 1], arreglo[m]) < 0) {
+            intercambio(arreglo, m, b - 1);
+            if (comparador.compare(arreglo[m], arreglo[a]) < 0)
+                intercambio(arreglo, a, m);
+        }
+        T pivote = arreglo[m];
+        int i = a, j = b - 1;
+        while (true) {
+            while (comparador.compare(arreglo[++i], pivote) < 0)
+                ;
+            while (comparador.compare(arreglo[--j], pivote) > 0)
+                ;
+            if (i >= j)
+                return j + 1;
+            intercambio(arreglo, i, j);
+        }
+    }
+
+    /* Ordena por inserción el intervalo [a, b). */
+    private static <T> void insercion(T[] arreglo, Comparator<T> comparador,
+                                      int a, int b) {
+        for (int i = a + 1; i < b; i++) {
+            T elemento = arreglo[i];
+            int j = i;
+            while (j > a && comparador.compare(arreglo[j - 1], elemento) > 0) {
+                arreglo[j] = arreglo[j - 1];
+                j--;
+            }
+            arreglo[j] = elemento;
+        }
+    }
+
     /**
      * Ordena el arreglo recibido usando SelectionSort.
      * @param <T> tipo del que puede ser el arreglo.
@@ -85,6 +256,286 @@ public class Arreglos {
         selectionSort(arreglo, (a, b) -> a.compareTo(b));
     }
 
+    /**
+     * Ordena el arreglo recibido usando HeapSort, sin memoria adicional.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param comparador el comparador para ordenar el arreglo.
+     */
+    public static <T> void
+    heapSort(T[] arreglo, Comparator<T> comparador) {
+        heapSort(arreglo, comparador, 0, arreglo.length);
+    }
+
+    /**
+     * Ordena el arreglo recibido usando HeapSort, sin memoria adicional.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo un arreglo cuyos elementos son comparables.
+     */
+    public static <T extends Comparable<T>> void
+    heapSort(T[] arreglo) {
+        heapSort(arreglo, (a, b) -> a.compareTo(b));
+    }
+
+    /**
+     * Ordena el arreglo de enteros recibido usando HeapSort, sin memoria
+     * adicional.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void heapSort(int[] arreglo) {
+        heapSort(arreglo, 0, arreglo.length);
+    }
+
+    /**
+     * Ordena el arreglo de enteros largos recibido usando HeapSort, sin
+     * memoria adicional.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void heapSort(long[] arreglo) {
+        heapSort(arreglo, 0, arreglo.length);
+    }
+
+    /**
+     * Ordena el arreglo de dobles recibido usando HeapSort, sin memoria
+     * adicional. El orden es el de {@link Double#compare}: los NaN van al
+     * final, y -0.0 antes que 0.0.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void heapSort(double[] arreglo) {
+        heapSort(arreglo, 0, arreglo.length);
+    }
+
+    /**
+     * Ordena el arreglo recibido en paralelo, con el <i>pool</i> común. Los
+     * intervalos chicos se ordenan con HeapSort en paralelo y luego se
+     * mezclan, así que usa un arreglo auxiliar del tamaño del recibido.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param comparador el comparador para ordenar el arreglo.
+     */
+    public static <T> void
+    heapSortParalelo(T[] arreglo, Comparator<T> comparador) {
+        heapSortParalelo(arreglo, comparador, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Ordena el arreglo recibido en paralelo, con el <i>pool</i> recibido.
+     * Ver {@link #heapSortParalelo(Object[],Comparator)}.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param comparador el comparador para ordenar el arreglo.
+     * @param pool el <i>pool</i> en el que se ordena.
+     */
+    @SuppressWarnings("unchecked") public static <T> void
+    heapSortParalelo(T[] arreglo, Comparator<T> comparador, ForkJoinPool pool) {
+        paralelo(arreglo, arreglo.clone(), (Comparator<Object>)comparador,
+                 arreglo.length, pool);
+    }
+
+    /**
+     * Ordena el arreglo de enteros recibido en paralelo, con el <i>pool</i>
+     * común. Ver {@link #heapSortParalelo(Object[],Comparator)}.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void heapSortParalelo(int[] arreglo) {
+        paralelo(arreglo, new int[arreglo.length], null, arreglo.length,
+                 ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Ordena el arreglo de enteros largos recibido en paralelo, con el
+     * <i>pool</i> común. Ver {@link #heapSortParalelo(Object[],Comparator)}.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void heapSortParalelo(long[] arreglo) {
+        paralelo(arreglo, new long[arreglo.length], null, arreglo.length,
+                 ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Ordena el arreglo de dobles recibido en paralelo, con el <i>pool</i>
+     * común, en el orden de {@link Double#compare}. Ver {@link
+     * #heapSortParalelo(Object[],Comparator)}.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void heapSortParalelo(double[] arreglo) {
+        paralelo(arreglo, new double[arreglo.length], null, arreglo.length,
+                 ForkJoinPool.commonPool());
+    }
+
+    /* Ordena el arreglo de n elementos en paralelo; si es chico, lo ordena
+     * en el hilo que llama. */
+    private static void paralelo(Object arreglo, Object auxiliar,
+                                 Comparator<Object> comparador,
+                                 int n, ForkJoinPool pool) {
+        if (n <= UMBRAL_PARALELO)
+            ordena(arreglo, comparador, 0, n);
+        else
+            pool.invoke(new Ordenamiento(arreglo, auxiliar, comparador, 0, n));
+    }
+
+    /* Ordena con HeapSort el intervalo [a, b) de un arreglo genérico o de
+     * enteros, enteros largos o dobles. */
+    private static void ordena(Object arreglo, Comparator<Object> comparador,
+                               int a, int b) {
+        if (arreglo instanceof int[])
+            heapSort((int[])arreglo, a, b);
+        else if (arreglo instanceof long[])
+            heapSort((long[])arreglo, a, b);
+        else if (arreglo instanceof double[])
+            heapSort((double[])arreglo, a, b);
+        else
+            heapSort((Object[])arreglo, comparador, a, b);
+    }
+
+    /* Mezcla los intervalos ordenados [a, m) y [m, b) de un arreglo
+     * genérico o de enteros, enteros largos o dobles; la mitad izquierda se
+     * copia al arreglo auxiliar. */
+    private static void mezcla(Object arreglo, Object auxiliar,
+                               Comparator<Object> comparador,
+                               int a, int m, int b) {
+        System.arraycopy(arreglo, a, auxiliar, a, m - a);
+        int i = a, j = m, k = a;
+        if (arreglo instanceof int[]) {
+            int[] r = (int[])arreglo, x = (int[])auxiliar;
+            while (i < m && j < b)
+                r[k++] = r[j] < x[i] ? r[j++] : x[i++];
+        } else if (arreglo instanceof long[]) {
+            long[] r = (long[])arreglo, x = (long[])auxiliar;
+            while (i < m && j < b)
+                r[k++] = r[j] < x[i] ? r[j++] : x[i++];
+        } else if (arreglo instanceof double[]) {
+            double[] r = (double[])arreglo, x = (double[])auxiliar;
+            while (i < m && j < b)
+                r[k++] = Double.compare(r[j], x[i]) < 0 ? r[j++] : x[i++];
+        } else {
+            Object[] r = (Object[])arreglo, x = (Object[])auxiliar;
+            while (i < m && j < b)
+                r[k++] = comparador.compare(r[j], x[i]) < 0 ? r[j++] : x[i++];
+        }
+        System.arraycopy(auxiliar, i, arreglo, k, m - i);
+    }
+
+    /* Ordena con HeapSort el intervalo [a, b): arma un montículo máximo en
+     * el intervalo y va pasando la raíz al final. */
+    private static <T> void heapSort(T[] arreglo, Comparator<T> comparador,
+                                     int a, int b) {
+        int n = b - a;
+        for (int i = n / 2 - 1; i >= 0; i--)
+            baja(arreglo, comparador, a, i, n);
+        for (int m = n - 1; m > 0; m--) {
+            intercambio(arreglo, a, a + m);
+            baja(arreglo, comparador, a, 0, m);
+        }
+    }
+
+    /* Baja el elemento en la posición relativa i del montículo máximo de n
+     * elementos que empieza en a. */
+    private static <T> void baja(T[] arreglo, Comparator<T> comparador,
+                                 int a, int i, int n) {
+        T elemento = arreglo[a + i];
+        int hijo;
+        while ((hijo = 2 * i + 1) < n) {
+            if (hijo + 1 < n &&
+                comparador.compare(arreglo[a + hijo + 1], arreglo[a + hijo]) > 0)
+                hijo++;
+            if (comparador.compare(arreglo[a + hijo], elemento) <= 0)
+                break;
+            arreglo[a + i] = arreglo[a + hijo];
+            i = hijo;
+        }
+        arreglo[a + i] = elemento;
+    }
+
+    /* Ordena con HeapSort el intervalo [a, b) de un arreglo de enteros. */
+    private static void heapSort(int[] arreglo, int a, int b) {
+        int n = b - a;
+        for (int i = n / 2 - 1; i >= 0; i--)
+            baja(arreglo, a, i, n);
+        for (int m = n - 1; m > 0; m--) {
+            int t = arreglo[a];
+            arreglo[a] = arreglo[a + m];
+            arreglo[a + m] = t;
+            baja(arreglo, a, 0, m);
+        }
+    }
+
+    /* Baja el entero en la posición relativa i del montículo máximo de n
+     * enteros que empieza en a. */
+    private static void baja(int[] arreglo, int a, int i, int n) {
+        int elemento = arreglo[a + i];
+        int hijo;
+        while ((hijo = 2 * i + 1) < n) {
+            if (hijo + 1 < n && arreglo[a + hijo + 1] > arreglo[a + hijo])
+                hijo++;
+            if (arreglo[a + hijo] <= elemento)
+                break;
+            arreglo[a + i] = arreglo[a + hijo];
+            i = hijo;
+        }
+        arreglo[a + i] = elemento;
+    }
+
+    /* Ordena con HeapSort el intervalo [a, b) de un arreglo de enteros
+     * largos. */
+    private static void heapSort(long[] arreglo, int a, int b) {
+        int n = b - a;
+        for (int i = n / 2 - 1; i >= 0; i--)
+            baja(arreglo, a, i, n);
+        for (int m = n - 1; m > 0; m--) {
+            long t = arreglo[a];
+            arreglo[a] = arreglo[a + m];
+            arreglo[a + m] = t;
+            baja(arreglo, a, 0, m);
+        }
+    }
+
+    /* Baja el entero largo en la posición relativa i del montículo máximo de
+     * n enteros largos que empieza en a. */
+    private static void baja(long[] arreglo, int a, int i, int n) {
+        long elemento = arreglo[a + i];
+        int hijo;
+        while ((hijo = 2 * i + 1) < n) {
+            if (hijo + 1 < n && arreglo[a + hijo + 1] > arreglo[a + hijo])
+                hijo++;
+            if (arreglo[a + hijo] <= elemento)
+                break;
+            arreglo[a + i] = arreglo[a + hijo];
+            i = hijo;
+        }
+        arreglo[a + i] = elemento;
+    }
+
+    /* Ordena con HeapSort el intervalo [a, b) de un arreglo de dobles. */
+    private static void heapSort(double[] arreglo, int a, int b) {
+        int n = b - a;
+        for (int i = n / 2 - 1; i >= 0; i--)
+            baja(arreglo, a, i, n);
+        for (int m = n - 1; m > 0; m--) {
+            double t = arreglo[a];
+            arreglo[a] = arreglo[a + m];
+            arreglo[a + m] = t;
+            baja(arreglo, a, 0, m);
+        }
+    }
+
+    /* Baja el doble en la posición relativa i del montículo máximo de n
+     * dobles que empieza en a, en el orden de Double.compare. */
+    private static void baja(double[] arreglo, int a, int i, int n) {
+        double elemento = arreglo[a + i];
+        int hijo;
+        while ((hijo = 2 * i + 1) < n) {
+            if (hijo + 1 < n &&
+                Double.compare(arreglo[a + hijo + 1], arreglo[a + hijo]) > 0)
+                hijo++;
+            if (Double.compare(arreglo[a + hijo], elemento) <= 0)
+                break;
+            arreglo[a + i] = arreglo[a + hijo];
+            i = hijo;
+        }
+        arreglo[a + i] = elemento;
+    }
+
     /**
      * Hace una búsqueda binaria del elemento en el arreglo. Regresa el índice
      * del elemento en el arreglo, o -1 si no se encuentra.
@@ -0,0 +1,33 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Clase para colas genéricas sobre un arreglo circular. Tiene el mismo
+ * comportamiento que {@link Cola}, pero no crea un nodo por elemento.
+ */
+public class ColaArreglo<T> extends MeteSacaArreglo<T> {
+
+    /**
+     * Regresa una representación en cadena de la cola.
+     * @return una representación en cadena de la cola.
+     */
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < elementos; i++)
+            sb.append(get(i).toString()).append(",");
+        return sb.toString();
+    }
+
+    /**
+     * Agrega un elemento al final de la cola.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    @Override public void mete(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException("el elemento es vacio");
+        crece();
+        arreglo[(inicio + elementos) & (arreglo.length - 1)] = elemento;
+        elementos++;
+    }
+}
@@ -0,0 +1,159 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para conjuntos disjuntos (<i>union-find</i>) de enteros. Los
+ * elementos son los enteros entre 0 y <i>n</i>-1, y al principio cada uno
+ * está en su propio conjunto.</p>
+ *
+ * <p>Cada conjunto es un árbol cuya raíz es su representante. Al buscar una
+ * raíz cada elemento del camino se cuelga de su abuelo (<i>path
+ * halving</i>), y al unir se cuelga el árbol más chico del más grande, así
+ * que cualquier sucesión de <i>m</i> operaciones toma tiempo
+ * <i>O</i>(<i>m</i> α(<i>n</i>)), prácticamente constante por operación. Todo
+ * se guarda en un solo arreglo: el padre de cada elemento, o el tamaño de su
+ * conjunto con signo negativo si es raíz.</p>
+ */
+public class ConjuntosDisjuntos {
+
+    /* El padre de cada elemento, o menos el tamaño de su conjunto si es
+     * raíz. */
+    private int[] padres;
+    /* El número de elementos. */
+    private int elementos;
+    /* El número de conjuntos. */
+    private int conjuntos;
+
+    /**
+     * Construye <i>n</i> conjuntos, uno por cada entero entre 0 y
+     * <i>n</i>-1.
+     * @param n el número de elementos.
+     * @throws IllegalArgumentException si n es negativo.
+     */
+    public ConjuntosDisjuntos(int n) {
+        if (n < 0)
+            throw new IllegalArgumentException("numero de elementos negativo");
+        padres = new int[Math.max(n, 1)];
+        elementos = n;
+        limpia();
+    }
+
+    /**
+     * Agrega un nuevo elemento, en su propio conjunto.
+     * @return el nuevo elemento, que es el número de elementos antes de
+     *         agregarlo.
+     */
+    public int agrega() {
+        if (elementos == padres.length)
+            padres = Arrays.copyOf(padres, padres.length * 2);
+        padres[elementos] = -1;
+        conjuntos++;
+        return elementos++;
+    }
+
+    /**
+     * Regresa el número de elementos.
+     * @return el número de elementos.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Regresa el número de conjuntos.
+     * @return el número de conjuntos.
+     */
+    public int getConjuntos() {
+        return conjuntos;
+    }
+
+    /**
+     * Regresa el representante del conjunto del elemento. Dos elementos están
+     * en el mismo conjunto si y sólo si tienen el mismo representante.
+     * @param elemento el elemento.
+     * @return el representante del conjunto del elemento.
+     * @throws NoSuchElementException si el elemento es inválido.
+     */
+    public int busca(int elemento) {
+        revisa(elemento);
+        return raiz(elemento);
+    }
+
+    /**
+     * Une los conjuntos de dos elementos.
+     * @param a el primer elemento.
+     * @param b el segundo elemento.
+     * @return <code>true</code> si los elementos estaban en conjuntos
+     *         distintos, <code>false</code> si ya estaban en el mismo.
+     * @throws NoSuchElementException si alguno de los elementos es inválido.
+     */
+    public boolean une(int a, int b) {
+        revisa(a);
+        revisa(b);
+        int ra = raiz(a), rb = raiz(b);
+        if (ra == rb)
+            return false;
+        if (padres[ra] > padres[rb]) {
+            int t = ra;
+            ra = rb;
+            rb = t;
+        }
+        padres[ra] += padres[rb];
+        padres[rb] = ra;
+        conjuntos--;
+        return true;
+    }
+
+    /**
+     * Nos dice si dos elementos están en el mismo conjunto.
+     * @param a el primer elemento.
+     * @param b el segundo elemento.
+     * @return <code>true</code> si los elementos están en el mismo conjunto,
+     *         <code>false</code> en otro caso.
+     * @throws NoSuchElementException si alguno de los elementos es inválido.
+     */
+    public boolean conectados(int a, int b) {
+        revisa(a);
+        revisa(b);
+        return raiz(a) == raiz(b);
+    }
+
+    /**
+     * Regresa el tamaño del conjunto del elemento.
+     * @param elemento el elemento.
+     * @return el número de elementos en su conjunto.
+     * @throws NoSuchElementException si el elemento es inválido.
+     */
+    public int getTamano(int elemento) {
+        revisa(elemento);
+        return -padres[raiz(elemento)];
+    }
+
+    /**
+     * Separa todos los elementos, dejando a cada uno en su propio conjunto.
+     */
+    public void limpia() {
+        Arrays.fill(padres, 0, elementos, -1);
+        conjuntos = elementos;
+    }
+
+    /* Revisa que el elemento sea válido. */
+    private void revisa(int elemento) {
+        if (elemento < 0 || elemento >= elementos)
+            throw new NoSuchElementException("elemento invalido");
+    }
+
+    /* Regresa la raíz del elemento, colgando cada elemento del camino de su
+     * abuelo. */
+    private int raiz(int elemento) {
+        while (padres[elemento] >= 0) {
+            int padre = padres[elemento];
+            if (padres[padre] >= 0)
+                padres[elemento] = padres[padre];
+            elemento = padre;
+        }
+        return elemento;
+    }
+}
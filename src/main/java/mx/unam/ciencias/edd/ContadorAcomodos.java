@@ -0,0 +1,21 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Interfaz para montículos que cuentan sus acomodos. Un acomodo es un nivel
+ * que sube o baja un elemento al agregar, eliminar o reordenar; sirve para
+ * comparar montículos con la misma carga de trabajo sin depender del reloj.
+ */
+public interface ContadorAcomodos {
+
+    /**
+     * Regresa el número de acomodos desde que se creó el montículo o desde la
+     * última vez que se reinició el contador.
+     * @return el número de acomodos.
+     */
+    public long getAcomodos();
+
+    /**
+     * Reinicia el contador de acomodos a cero.
+     */
+    public void reiniciaAcomodos();
+}
@@ -5,9 +5,14 @@ import java.util.Iterator;
 import java.util.NoSuchElementException;
 
 /**
- * Clase para diccionarios (<em>hash tables</em>). Un diccionario generaliza el
- * concepto de arreglo, mapeando un conjunto de <em>llaves</em> a una colección
- * de <em>valores</em>.
+ * <p>Clase para diccionarios (<em>hash tables</em>). Un diccionario generaliza
+ * el concepto de arreglo, mapeando un conjunto de <em>llaves</em> a una
+ * colección de <em>valores</em>.</p>
+ *
+ * <p>Por omisión las colisiones se resuelven encadenando las entradas en
+ * listas; con {@link Direccionamiento#ABIERTO} las llaves y valores se guardan
+ * en arreglos paralelos y las colisiones se resuelven con sondeo lineal
+ * <i>Robin Hood</i>, lo que evita crear un nodo y una entrada por llave.</p>
  */
 public class Diccionario<K, V> implements Iterable<V> {
 
@@ -29,7 +34,8 @@ public class Diccionario<K, V> implements Iterable<V> {
     /* Clase interna privada para iteradores. */
     private class Iterador {
 
-        /* En qué lista estamos. */
+        /* En qué lista (o casilla, si el direccionamiento es abierto)
+         * estamos. */
         private int indice;
         /* Iterador auxiliar. */
         private Iterator<Entrada> iterador;
@@ -38,7 +44,10 @@ public class Diccionario<K, V> implements Iterable<V> {
          * diccionario. */
         public Iterador() {
             indice = -1;
-            buscarProximo();
+            if (llaves != null)
+                buscarProximaCasilla();
+            else
+                buscarProximo();
         }
 
         private void buscarProximo(){
@@ -52,11 +61,31 @@ public class Diccionario<K, V> implements Iterable<V> {
             }
             iterador = null;
         }
+
+        // busca la siguiente casilla ocupada con direccionamiento abierto
+        private void buscarProximaCasilla() {
+            indice++;
+            while (indice < llaves.length && llaves[indice] == null)
+                indice++;
+        }
+
         /* Nos dice si hay una siguiente entrada. */
         public boolean hasNext() {
+            if (llaves != null)
+                return indice < llaves.length;
             return iterador != null;
         }
 
+        /* Regresa la siguiente casilla ocupada, con direccionamiento
+         * abierto. */
+        public int siguienteCasilla() {
+            if (indice >= llaves.length)
+                throw new NoSuchElementException("no hay elemento siguiente");
+            int casilla = indice;
+            buscarProximaCasilla();
+            return casilla;
+        }
+
         /* Regresa la siguiente entrada. */
         public Entrada siguiente() {
             if(iterador == null)
@@ -77,6 +106,8 @@ public class Diccionario<K, V> implements Iterable<V> {
 
         /* Regresa el siguiente elemento. */
         @Override public K next() {
+            if (llaves != null)
+                return llaves[siguienteCasilla()];
             return siguiente().llave;
         }
     }
@@ -87,6 +118,8 @@ public class Diccionario<K, V> implements Iterable<V> {
 
         /* Regresa el siguiente elemento. */
         @Override public V next() {
+            if (llaves != null)
+                return valores[siguienteCasilla()];
             return siguiente().valor;
         }
     }
@@ -96,11 +129,21 @@ public class Diccionario<K, V> implements Iterable<V> {
 
     /* Capacidad mínima; decidida arbitrariamente a 2^6. */
     private static final int MINIMA_CAPACIDAD = 64;
+    /* Capacidad mínima con direccionamiento abierto; como no hay listas,
+     * diccionarios pequeños (como los vecinos de un vértice) pueden empezar
+     * con 2^2. */
+    private static final int MINIMA_CAPACIDAD_ABIERTO = 4;
 
     /* Dispersor. */
     private Dispersor<K> dispersor;
     /* Nuestro diccionario. */
     private Lista<Entrada>[] entradas;
+    /* Las llaves, con direccionamiento abierto; null en otro caso. */
+    private K[] llaves;
+    /* Los valores, con direccionamiento abierto. */
+    private V[] valores;
+    /* Las dispersiones de las llaves, con direccionamiento abierto. */
+    private int[] dispersiones;
     /* Número de valores. */
     private int elementos;
 
@@ -112,6 +155,14 @@ public class Diccionario<K, V> implements Iterable<V> {
         return (Lista<Entrada>[])Array.newInstance(Lista.class, n);
     }
 
+    /* Crea los arreglos paralelos del direccionamiento abierto. */
+    @SuppressWarnings("unchecked")
+    private void nuevasCasillas(int n) {
+        llaves = (K[])new Object[n];
+        valores = (V[])new Object[n];
+        dispersiones = new int[n];
+    }
+
     /**
      * Construye un diccionario con una capacidad inicial y dispersor
      * predeterminados.
@@ -145,14 +196,49 @@ public class Diccionario<K, V> implements Iterable<V> {
      * @param dispersor el dispersor a utilizar.
      */
     public Diccionario(int capacidad, Dispersor<K> dispersor) {
-        this.dispersor = dispersor; 
-        entradas = nuevoArreglo(buscarPotencia(capacidad));
+        this(capacidad, dispersor, Direccionamiento.ENCADENADO);
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial y dispersor
+     * predeterminados, y el direccionamiento recibido.
+     * @param direccionamiento cómo resolver las colisiones.
+     */
+    public Diccionario(Direccionamiento direccionamiento) {
+        this(MINIMA_CAPACIDAD, (K llave) -> llave.hashCode(), direccionamiento);
     }
+
+    /**
+     * Construye un diccionario con una capacidad inicial definida por el
+     * usuario, un dispersor predeterminado y el direccionamiento recibido.
+     * @param capacidad la capacidad a utilizar.
+     * @param direccionamiento cómo resolver las colisiones.
+     */
+    public Diccionario(int capacidad, Direccionamiento direccionamiento) {
+        this(capacidad, (K llave) -> llave.hashCode(), direccionamiento);
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial, un método de
+     * dispersor y un direccionamiento definidos por el usuario.
+     * @param capacidad la capacidad inicial del diccionario.
+     * @param dispersor el dispersor a utilizar.
+     * @param direccionamiento cómo resolver las colisiones.
+     */
+    public Diccionario(int capacidad, Dispersor<K> dispersor,
+                       Direccionamiento direccionamiento) {
+        this.dispersor = dispersor;
+        if (direccionamiento == Direccionamiento.ABIERTO)
+            nuevasCasillas(buscarPotencia(capacidad, MINIMA_CAPACIDAD_ABIERTO));
+        else
+            entradas = nuevoArreglo(buscarPotencia(capacidad, MINIMA_CAPACIDAD));
+    }
+
     // metodo que busca la potencia de 2 en caso de ser nesesario
-    private int buscarPotencia(int capacidad){
+    private int buscarPotencia(int capacidad, int minima){
         int regreso = 1;
 
-        capacidad = (capacidad < 64) ? 64 : capacidad;
+        capacidad = (capacidad < minima) ? minima : capacidad;
         while(regreso < capacidad * 2)
             regreso *= 2;
 
@@ -171,6 +257,11 @@ public class Diccionario<K, V> implements Iterable<V> {
         if(llave == null || valor == null)
             throw new IllegalArgumentException("la llave o el valor son null");
 
+        if (llaves != null) {
+            agregaAbierto(llave, valor);
+            return;
+        }
+
         int indice = mascara(llave);
         Entrada entrada = new Entrada(llave, valor);
         if(entradas[indice]== null){
@@ -214,6 +305,93 @@ public class Diccionario<K, V> implements Iterable<V> {
         entradas = duplicada; 
     }
 
+    // agrega con direccionamiento abierto
+    private void agregaAbierto(K llave, V valor) {
+        int dispersion = dispersor.dispersa(llave);
+        int casilla = buscaCasilla(llave, dispersion);
+        if (casilla >= 0) {
+            valores[casilla] = valor;
+            return;
+        }
+        coloca(llave, valor, dispersion);
+        elementos++;
+        if (carga() >= MAXIMA_CARGA)
+            duplicarCasillas();
+    }
+
+    // distancia de la casilla i a la casilla donde debería estar su llave
+    private int distancia(int i) {
+        return (i - (dispersiones[i] & (llaves.length - 1))) & (llaves.length - 1);
+    }
+
+    // regresa la casilla de la llave, o -1 si no está; con Robin Hood podemos
+    // parar en cuanto encontramos una llave más cerca de su casilla que la
+    // que buscamos
+    private int buscaCasilla(K llave, int dispersion) {
+        int mascara = llaves.length - 1;
+        int i = dispersion & mascara;
+        for (int d = 0; llaves[i] != null && distancia(i) >= d; d++) {
+            if (dispersiones[i] == dispersion && llaves[i].equals(llave))
+                return i;
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+
+    // coloca una llave que no está en el diccionario; cada vez que la
+    // entrada que llevamos está más lejos de su casilla que la que ocupa el
+    // lugar, las intercambiamos y seguimos con la desplazada
+    private void coloca(K llave, V valor, int dispersion) {
+        int mascara = llaves.length - 1;
+        int i = dispersion & mascara;
+        for (int d = 0; llaves[i] != null; d++) {
+            int di = distancia(i);
+            if (di < d) {
+                K k = llaves[i];
+                V v = valores[i];
+                int h = dispersiones[i];
+                llaves[i] = llave;
+                valores[i] = valor;
+                dispersiones[i] = dispersion;
+                llave = k;
+                valor = v;
+                dispersion = h;
+                d = di;
+            }
+            i = (i + 1) & mascara;
+        }
+        llaves[i] = llave;
+        valores[i] = valor;
+        dispersiones[i] = dispersion;
+    }
+
+    // duplica los arreglos del direccionamiento abierto
+    private void duplicarCasillas() {
+        K[] viejasLlaves = llaves;
+        V[] viejosValores = valores;
+        int[] viejasDispersiones = dispersiones;
+        nuevasCasillas(llaves.length * 2);
+        for (int i = 0; i < viejasLlaves.length; i++)
+            if (viejasLlaves[i] != null)
+                coloca(viejasLlaves[i], viejosValores[i], viejasDispersiones[i]);
+    }
+
+    // elimina la casilla i recorriendo hacia atrás las entradas que la
+    // siguen, para no dejar lápidas
+    private void eliminaCasilla(int i) {
+        int mascara = llaves.length - 1;
+        int j = (i + 1) & mascara;
+        while (llaves[j] != null && distancia(j) > 0) {
+            llaves[i] = llaves[j];
+            valores[i] = valores[j];
+            dispersiones[i] = dispersiones[j];
+            i = j;
+            j = (j + 1) & mascara;
+        }
+        llaves[i] = null;
+        valores[i] = null;
+    }
+
     private Entrada recorreIndice(int indice, K llave){
         if(entradas[indice] == null)
             return null;
@@ -233,6 +411,12 @@ public class Diccionario<K, V> implements Iterable<V> {
     public V get(K llave) {
         if(llave == null)
             throw new IllegalArgumentException("la llave es nula");
+        if (llaves != null) {
+            int casilla = buscaCasilla(llave, dispersor.dispersa(llave));
+            if (casilla < 0)
+                throw new NoSuchElementException("la llave no esta en el diccionario");
+            return valores[casilla];
+        }
         int indice = mascara(llave);
         Entrada regreso = recorreIndice(indice, llave);
 
@@ -253,6 +437,8 @@ public class Diccionario<K, V> implements Iterable<V> {
         if(llave == null){
             return false;
         }
+        if (llaves != null)
+            return buscaCasilla(llave, dispersor.dispersa(llave)) >= 0;
         return recorreIndice(mascara(llave), llave)!= null;
     }
 
@@ -266,6 +452,14 @@ public class Diccionario<K, V> implements Iterable<V> {
     public void elimina(K llave) {
         if (llave == null)
             throw new IllegalArgumentException("la llave es nula");
+        if (llaves != null) {
+            int casilla = buscaCasilla(llave, dispersor.dispersa(llave));
+            if (casilla < 0)
+                throw new NoSuchElementException("la llave no esta en el diccionario");
+            eliminaCasilla(casilla);
+            elementos--;
+            return;
+        }
         int indice = mascara(llave);
         Entrada regreso = recorreIndice(indice, llave);
 
@@ -279,12 +473,20 @@ public class Diccionario<K, V> implements Iterable<V> {
     }
 
     /**
-     * Nos dice cuántas colisiones hay en el diccionario.
+     * Nos dice cuántas colisiones hay en el diccionario. Con direccionamiento
+     * abierto son las llaves que no están en la casilla que les corresponde.
      * @return cuántas colisiones hay en el diccionario.
      */
     public int colisiones() {
        int coliciones=0;
 
+       if (llaves != null) {
+           for (int i = 0; i < llaves.length; i++)
+               if (llaves[i] != null && distancia(i) > 0)
+                   coliciones++;
+           return coliciones;
+       }
+
        for(Lista<Entrada> entrada : entradas){
         if(entrada!= null)
             coliciones += entrada.getElementos()-1;
@@ -295,13 +497,21 @@ public class Diccionario<K, V> implements Iterable<V> {
 
     /**
      * Nos dice el máximo número de colisiones para una misma llave que tenemos
-     * en el diccionario.
+     * en el diccionario. Con direccionamiento abierto es la distancia máxima
+     * de una llave a la casilla que le corresponde.
      * @return el máximo número de colisiones para una misma llave.
      */
     public int colisionMaxima() {
         int coliciones = 0;
         int max = 0;
 
+        if (llaves != null) {
+            for (int i = 0; i < llaves.length; i++)
+                if (llaves[i] != null && distancia(i) > max)
+                    max = distancia(i);
+            return max;
+        }
+
         for (Lista<Entrada> entrada : entradas) {
             if (entrada != null){
                 coliciones = entrada.getElementos() - 1;
@@ -320,6 +530,8 @@ public class Diccionario<K, V> implements Iterable<V> {
      * @return la carga del diccionario.
      */
     public double carga() {
+        if (llaves != null)
+            return (double)elementos / llaves.length;
         return Double.valueOf(elementos)/entradas.length;
     }
 
@@ -344,7 +556,10 @@ public class Diccionario<K, V> implements Iterable<V> {
      * Limpia el diccionario de elementos, dejándolo vacío.
      */
     public void limpia() {
-       entradas = nuevoArreglo(entradas.length);
+       if (llaves != null)
+           nuevasCasillas(llaves.length);
+       else
+           entradas = nuevoArreglo(entradas.length);
        elementos = 0;
     }
 
@@ -356,11 +571,11 @@ public class Diccionario<K, V> implements Iterable<V> {
         String regreso ="{ ";
         if(elementos == 0)
             return "{}";
-        Iterador iterador = new Iterador();
-        while(iterador.hasNext()){
-            Entrada entrada = iterador.siguiente();
-            regreso += String.format("'%s': '%s', ", entrada.llave, entrada.valor);
-        }
+        Iterator<K> iteradorLlaves = iteradorLlaves();
+        Iterator<V> iteradorValores = iterator();
+        while(iteradorLlaves.hasNext())
+            regreso += String.format("'%s': '%s', ", iteradorLlaves.next(),
+                                     iteradorValores.next());
         
         return regreso + "}";
     }
@@ -381,12 +596,14 @@ public class Diccionario<K, V> implements Iterable<V> {
         if(d.elementos != elementos)
             return false;
         
-        Iterador iterador = new Iterador();
-        while(iterador.hasNext()){
-            Entrada entrada = iterador.siguiente();
-            if(!d.contiene(entrada.llave))
+        Iterator<K> iteradorLlaves = iteradorLlaves();
+        Iterator<V> iteradorValores = iterator();
+        while(iteradorLlaves.hasNext()){
+            K llave = iteradorLlaves.next();
+            V valor = iteradorValores.next();
+            if(!d.contiene(llave))
                 return false;
-            if(!entrada.valor.equals(d.get(entrada.llave)))
+            if(!valor.equals(d.get(llave)))
                 return false;
             
         }
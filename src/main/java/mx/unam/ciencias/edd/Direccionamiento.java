@@ -0,0 +1,13 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Enumeración para las formas en que un {@link Diccionario} puede resolver
+ * colisiones.
+ */
+public enum Direccionamiento {
+    /** Cada casilla guarda una lista con las entradas que caen en ella. */
+    ENCADENADO,
+    /** Las llaves y valores se guardan en arreglos paralelos, y las colisiones
+     *  se resuelven con sondeo lineal <i>Robin Hood</i>. */
+    ABIERTO;
+}
@@ -0,0 +1,173 @@
+package mx.unam.ciencias.edd;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * <p>Clase para escribir laberintos renglón por renglón en un flujo de bytes,
+ * sin tener el laberinto completo en memoria.</p>
+ *
+ * <p>El formato empieza con un encabezado de {@link #ENCABEZADO} bytes: el
+ * número mágico {@link #MAGIA}, la versión {@link #VERSION}, los bits por
+ * celda (dos o cuatro) y el ancho, como ints; y el alto y la semilla, como
+ * longs. Después sigue cada renglón, de arriba hacia abajo, y cada renglón
+ * ocupa un número entero de bytes. Con dos bits por celda, el bit bajo indica
+ * si la celda tiene paso al este, y el alto si tiene paso al sur; con cuatro
+ * bits por celda se guardan las cuatro paredes como en {@link
+ * Laberinto#getParedes}, así que cada celda se lee sin ver a sus vecinas. Ver
+ * {@link LectorLaberinto} para leer el formato renglón por renglón, y {@link
+ * LaberintoMapeado} para abrirlo de un archivo sin leerlo.</p>
+ */
+public class EscritorLaberinto {
+
+    /** Número mágico al inicio de un laberinto. */
+    public static final int MAGIA = 0x4C414252;
+    /** Versión del formato. */
+    public static final int VERSION = 1;
+    /** Longitud del encabezado, en bytes. */
+    public static final int ENCABEZADO = 32;
+
+    /* El flujo de salida. */
+    private OutputStream salida;
+    /* El ancho del laberinto. */
+    private int ancho;
+    /* El alto del laberinto. */
+    private long alto;
+    /* Los bits por celda. */
+    private int bits;
+    /* Los renglones escritos. */
+    private long renglones;
+    /* El renglón empacado. */
+    private byte[] renglon;
+    /* Las aperturas del renglón anterior. */
+    private byte[] anterior;
+
+    /**
+     * Crea un escritor de dos bits por celda y escribe el encabezado en el
+     * flujo.
+     * @param salida el flujo de salida.
+     * @param ancho el ancho del laberinto.
+     * @param alto el alto del laberinto.
+     * @param semilla la semilla con la que se generó el laberinto.
+     * @throws IOException si ocurre un error al escribir.
+     * @throws IllegalArgumentException si el ancho o el alto son no
+     *         positivos.
+     */
+    public EscritorLaberinto(OutputStream salida, int ancho, long alto,
+                             long semilla) throws IOException {
+        this(salida, ancho, alto, semilla, 2);
+    }
+
+    /**
+     * Crea un escritor y escribe el encabezado en el flujo.
+     * @param salida el flujo de salida.
+     * @param ancho el ancho del laberinto.
+     * @param alto el alto del laberinto.
+     * @param semilla la semilla con la que se generó el laberinto.
+     * @param bits los bits por celda, dos o cuatro.
+     * @throws IOException si ocurre un error al escribir.
+     * @throws IllegalArgumentException si el ancho o el alto son no
+     *         positivos, o si los bits por celda no son dos ni cuatro.
+     */
+    public EscritorLaberinto(OutputStream salida, int ancho, long alto,
+                             long semilla, int bits) throws IOException {
+        ByteBuffer encabezado = encabezado(ancho, alto, semilla, bits);
+        this.salida = new BufferedOutputStream(salida);
+        this.ancho = ancho;
+        this.alto = alto;
+        this.bits = bits;
+        renglon = new byte[bytesPorRenglon(ancho, bits)];
+        anterior = new byte[ancho];
+        this.salida.write(encabezado.array());
+    }
+
+    /**
+     * Escribe el siguiente renglón del laberinto.
+     * @param aperturas las aperturas de las celdas del renglón: la celda
+     *        <i>x</i> tiene paso al este si <code>aperturas[x]</code> tiene el
+     *        bit {@link Laberinto#ESTE}, y al sur si tiene el bit {@link
+     *        Laberinto#SUR}.
+     * @throws IOException si ocurre un error al escribir.
+     * @throws IllegalStateException si ya se escribieron todos los
+     *         renglones.
+     */
+    public void escribe(byte[] aperturas) throws IOException {
+        if (renglones == alto)
+            throw new IllegalStateException("ya se escribieron todos los renglones");
+        empaca(aperturas, anterior, renglon, ancho, bits, renglones == alto - 1);
+        salida.write(renglon);
+        System.arraycopy(aperturas, 0, anterior, 0, ancho);
+        renglones++;
+    }
+
+    /**
+     * Vacía el flujo de salida. Debe llamarse después del último renglón.
+     * @throws IOException si ocurre un error al escribir.
+     */
+    public void termina() throws IOException {
+        salida.flush();
+    }
+
+    /* Regresa el encabezado del formato, revisando sus parámetros. */
+    static ByteBuffer encabezado(int ancho, long alto, long semilla, int bits) {
+        if (ancho <= 0 || alto <= 0)
+            throw new IllegalArgumentException("dimensiones invalidas");
+        if (bits != 2 && bits != 4)
+            throw new IllegalArgumentException("bits por celda invalidos");
+        ByteBuffer encabezado = ByteBuffer.allocate(ENCABEZADO);
+        encabezado.putInt(MAGIA).putInt(VERSION).putInt(bits).putInt(ancho)
+            .putLong(alto).putLong(semilla).flip();
+        return encabezado;
+    }
+
+    /* Regresa cuántos bytes ocupa un renglón. */
+    static int bytesPorRenglon(int ancho, int bits) {
+        return (int)(((long)ancho * bits + 7) >>> 3);
+    }
+
+    /* Empaca las aperturas de un renglón; con cuatro bits por celda hacen
+     * falta las aperturas del renglón anterior para las paredes del norte.
+     * Las aperturas que saldrían del laberinto, al este de la última columna
+     * o al sur del último renglón, se ignoran. */
+    static void empaca(byte[] aperturas, byte[] anterior, byte[] renglon,
+                       int ancho, int bits, boolean ultimo) {
+        Arrays.fill(renglon, (byte)0);
+        for (int x = 0; x < ancho; x++) {
+            int a = aperturas[x];
+            if (x == ancho - 1)
+                a &= ~Laberinto.ESTE;
+            if (ultimo)
+                a &= ~Laberinto.SUR;
+            int b;
+            if (bits == 2) {
+                b = ((a & Laberinto.ESTE) != 0 ? 1 : 0) |
+                    ((a & Laberinto.SUR) != 0 ? 2 : 0);
+                renglon[x >>> 2] |= b << ((x & 3) << 1);
+            } else {
+                b = 0xF & ~(a & (Laberinto.ESTE | Laberinto.SUR));
+                if ((anterior[x] & Laberinto.SUR) != 0)
+                    b &= ~Laberinto.NORTE;
+                if (x > 0 && (aperturas[x - 1] & Laberinto.ESTE) != 0)
+                    b &= ~Laberinto.OESTE;
+                renglon[x >>> 1] |= b << ((x & 1) << 2);
+            }
+        }
+    }
+
+    /* Desempaca las aperturas de un renglón. */
+    static void desempaca(byte[] renglon, byte[] aperturas, int ancho, int bits) {
+        for (int x = 0; x < ancho; x++) {
+            if (bits == 2) {
+                int b = renglon[x >>> 2] >>> ((x & 3) << 1);
+                aperturas[x] = (byte)(((b & 1) != 0 ? Laberinto.ESTE : 0) |
+                                      ((b & 2) != 0 ? Laberinto.SUR : 0));
+            } else {
+                int b = renglon[x >>> 1] >>> ((x & 1) << 2);
+                aperturas[x] = (byte)(~b & (Laberinto.ESTE | Laberinto.SUR));
+            }
+        }
+    }
+}
@@ -0,0 +1,465 @@
+package mx.unam.ciencias.edd;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * <p>Clase para generar laberintos perfectos, es decir, laberintos en los que
+ * entre cualquier par de celdas hay exactamente una trayectoria.</p>
+ *
+ * <p>Los generadores no pasan por {@link Laberinto#conecta}: escriben los
+ * pasos en un arreglo de aperturas, un byte por celda, y al final lo empacan
+ * en el laberinto. Kruskal y Eller parten la cuadrícula en bandas de
+ * renglones que se generan en paralelo con <i>fork-join</i>, y después cosen
+ * las bandas de arriba hacia abajo. Cada banda usa su propio generador de
+ * números aleatorios, derivado de la semilla, así que el laberinto sólo
+ * depende de la semilla y no del número de hilos.</p>
+ */
+public class GeneradorLaberintos {
+
+    /* Tarea que procesa un intervalo de bandas, partiéndolo a la mitad
+     * mientras tenga más de una. */
+    private static class Bandas extends RecursiveAction {
+
+        /* La primera banda del intervalo. */
+        private int desde;
+        /* La banda siguiente a la última del intervalo. */
+        private int hasta;
+        /* Lo que hay que hacer con cada banda. */
+        private IntConsumer accion;
+
+        /* Crea una tarea para las bandas en [desde, hasta). */
+        public Bandas(int desde, int hasta, IntConsumer accion) {
+            this.desde = desde;
+            this.hasta = hasta;
+            this.accion = accion;
+        }
+
+        /* Procesa la banda, o parte el intervalo en dos tareas. */
+        @Override protected void compute() {
+            if (hasta - desde == 1) {
+                accion.accept(desde);
+                return;
+            }
+            int mitad = (desde + hasta) >>> 1;
+            invokeAll(new Bandas(desde, mitad, accion),
+                      new Bandas(mitad, hasta, accion));
+        }
+    }
+
+    /* Número aproximado de celdas por banda en los generadores paralelos. */
+    private static final int CELDAS_POR_BANDA = 1 << 18;
+
+    /* Las cuatro direcciones. */
+    private static final int[] DIRECCIONES = {
+        Laberinto.NORTE, Laberinto.ESTE, Laberinto.SUR, Laberinto.OESTE
+    };
+
+    /* Constructor privado para evitar instanciación. */
+    private GeneradorLaberintos() {}
+
+    /**
+     * Genera un laberinto perfecto con el algoritmo recibido.
+     * @param algoritmo el algoritmo de generación.
+     * @param ancho el ancho de la cuadrícula.
+     * @param alto el alto de la cuadrícula.
+     * @param semilla la semilla del generador de números aleatorios.
+     * @return el laberinto generado.
+     * @throws IllegalArgumentException si las dimensiones son inválidas (ver
+     *         {@link Laberinto#Laberinto(int,int)}).
+     */
+    public static Laberinto genera(AlgoritmoLaberinto algoritmo,
+                                   int ancho, int alto, long semilla) {
+        switch (algoritmo) {
+        case DFS:     return dfs(ancho, alto, semilla);
+        case KRUSKAL: return kruskal(ancho, alto, semilla);
+        case WILSON:  return wilson(ancho, alto, semilla);
+        case ELLER:   return eller(ancho, alto, semilla);
+        default: throw new IllegalArgumentException("Algoritmo inválido");
+        }
+    }
+
+    /**
+     * Genera un laberinto perfecto con DFS aleatorizado. El recorrido usa una
+     * {@link IntPila}, así que no hay recursión.
+     * @param ancho el ancho de la cuadrícula.
+     * @param alto el alto de la cuadrícula.
+     * @param semilla la semilla del generador de números aleatorios.
+     * @return el laberinto generado.
+     * @throws IllegalArgumentException si las dimensiones son inválidas.
+     */
+    public static Laberinto dfs(int ancho, int alto, long semilla) {
+        int n = celdas(ancho, alto);
+        SplittableRandom random = new SplittableRandom(semilla);
+        byte[] aperturas = new byte[n];
+        long[] visitadas = new long[(int)(((long)n + 63) >>> 6)];
+        IntPila pila = new IntPila();
+        int[] vecinas = new int[4];
+        int inicio = random.nextInt(n);
+        visita(visitadas, inicio);
+        pila.mete(inicio);
+        while (!pila.esVacia()) {
+            int celda = pila.mira();
+            int k = 0;
+            for (int direccion : DIRECCIONES) {
+                int vecina = mueve(celda, direccion, ancho, n);
+                if (vecina >= 0 && !visitada(visitadas, vecina))
+                    vecinas[k++] = vecina;
+            }
+            if (k == 0) {
+                pila.saca();
+                continue;
+            }
+            int siguiente = vecinas[random.nextInt(k)];
+            abre(aperturas, ancho, celda, siguiente);
+            visita(visitadas, siguiente);
+            pila.mete(siguiente);
+        }
+        return new Laberinto(ancho, alto, aperturas);
+    }
+
+    /**
+     * Genera un laberinto perfecto con el algoritmo de Wilson: cada celda
+     * fuera del árbol hace una caminata aleatoria hasta tocarlo, y la
+     * caminata, sin sus ciclos, se agrega al árbol. Todos los laberintos
+     * perfectos de la cuadrícula son igualmente probables.
+     * @param ancho el ancho de la cuadrícula.
+     * @param alto el alto de la cuadrícula.
+     * @param semilla la semilla del generador de números aleatorios.
+     * @return el laberinto generado.
+     * @throws IllegalArgumentException si las dimensiones son inválidas.
+     */
+    public static Laberinto wilson(int ancho, int alto, long semilla) {
+        int n = celdas(ancho, alto);
+        SplittableRandom random = new SplittableRandom(semilla);
+        byte[] aperturas = new byte[n];
+        long[] enArbol = new long[(int)(((long)n + 63) >>> 6)];
+        /* La dirección en que la caminata salió por última vez de cada celda;
+         * al sobrescribirla se borran los ciclos. */
+        byte[] salidas = new byte[n];
+        visita(enArbol, random.nextInt(n));
+        for (int inicio = 0; inicio < n; inicio++) {
+            int celda = inicio;
+            while (!visitada(enArbol, celda)) {
+                int direccion, vecina;
+                do {
+                    direccion = DIRECCIONES[random.nextInt(4)];
+                    vecina = mueve(celda, direccion, ancho, n);
+                } while (vecina < 0);
+                salidas[celda] = (byte)direccion;
+                celda = vecina;
+            }
+            celda = inicio;
+            while (!visitada(enArbol, celda)) {
+                visita(enArbol, celda);
+                int vecina = mueve(celda, salidas[celda], ancho, n);
+                abre(aperturas, ancho, celda, vecina);
+                celda = vecina;
+            }
+        }
+        return new Laberinto(ancho, alto, aperturas);
+    }
+
+    /**
+     * Genera un laberinto perfecto con Kruskal aleatorizado, en paralelo en
+     * el <i>pool</i> común de <i>fork-join</i>.
+     * @param ancho el ancho de la cuadrícula.
+     * @param alto el alto de la cuadrícula.
+     * @param semilla la semilla del generador de números aleatorios.
+     * @return el laberinto generado.
+     * @throws IllegalArgumentException si las dimensiones son inválidas.
+     */
+    public static Laberinto kruskal(int ancho, int alto, long semilla) {
+        return kruskal(ancho, alto, semilla, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Genera un laberinto perfecto con Kruskal aleatorizado. Cada banda de
+     * renglones toma sus paredes internas en orden aleatorio y tira las que
+     * unen conjuntos distintos, hasta que la banda es un árbol; las bandas se
+     * generan en paralelo. Como cada banda queda conexa, al final basta un
+     * paso aleatorio entre cada par de bandas consecutivas.
+     * @param ancho el ancho de la cuadrícula.
+     * @param alto el alto de la cuadrícula.
+     * @param semilla la semilla del generador de números aleatorios.
+     * @param pool el <i>pool</i> donde se generan las bandas.
+     * @return el laberinto generado.
+     * @throws IllegalArgumentException si las dimensiones son inválidas.
+     */
+    public static Laberinto kruskal(int ancho, int alto, long semilla,
+                                    ForkJoinPool pool) {
+        int n = celdas(ancho, alto);
+        int filas = filasPorBanda(ancho, alto);
+        int bandas = (alto + filas - 1) / filas;
+        SplittableRandom random = new SplittableRandom(semilla);
+        SplittableRandom[] randoms = new SplittableRandom[bandas];
+        for (int b = 0; b < bandas; b++)
+            randoms[b] = random.split();
+        byte[] aperturas = new byte[n];
+
+        pool.invoke(new Bandas(0, bandas, b -> kruskalBanda(
+            ancho, b * filas, Math.min(alto, (b + 1) * filas),
+            aperturas, randoms[b])));
+
+        for (int b = 1; b < bandas; b++)
+            aperturas[(b * filas - 1) * ancho + random.nextInt(ancho)] |= Laberinto.SUR;
+        return new Laberinto(ancho, alto, aperturas);
+    }
+
+    /* Genera con Kruskal los renglones en [y0, y1). Las aristas se codifican
+     * con la posición de su celda en la banda: c para el paso al este de c, y
+     * ~c para el paso al sur; los conjuntos también usan las posiciones en
+     * la banda. */
+    private static void kruskalBanda(int ancho, int y0, int y1, byte[] aperturas,
+                                     SplittableRandom random) {
+        int desde = y0 * ancho, hasta = y1 * ancho;
+        ConjuntosDisjuntos conjuntos = new ConjuntosDisjuntos(hasta - desde);
+        int[] aristas = new int[(int)(2L * (hasta - desde) - (y1 - y0) - ancho)];
+        int m = 0;
+        for (int c = desde; c < hasta; c++) {
+            if (c % ancho != ancho - 1)
+                aristas[m++] = c - desde;
+            if (c < hasta - ancho)
+                aristas[m++] = ~(c - desde);
+        }
+        /* Fisher-Yates perezoso: cada arista se procesa en cuanto se escoge,
+         * y paramos cuando la banda ya es un árbol. */
+        int faltan = hasta - desde - 1;
+        for (int i = m - 1; i >= 0 && faltan > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int arista = aristas[j];
+            aristas[j] = aristas[i];
+            int a = (arista >= 0) ? arista : ~arista;
+            int b = (arista >= 0) ? a + 1 : a + ancho;
+            if (conjuntos.une(a, b)) {
+                aperturas[desde + a] |= (arista >= 0) ? Laberinto.ESTE : Laberinto.SUR;
+                faltan--;
+            }
+        }
+    }
+
+    /**
+     * Genera un laberinto perfecto con el algoritmo de Eller, en paralelo en
+     * el <i>pool</i> común de <i>fork-join</i>.
+     * @param ancho el ancho de la cuadrícula.
+     * @param alto el alto de la cuadrícula.
+     * @param semilla la semilla del generador de números aleatorios.
+     * @return el laberinto generado.
+     * @throws IllegalArgumentException si las dimensiones son inválidas.
+     */
+    public static Laberinto eller(int ancho, int alto, long semilla) {
+        return eller(ancho, alto, semilla, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Genera un laberinto perfecto con el algoritmo de Eller. Cada banda de
+     * renglones se genera en paralelo con Eller, salvo los pasos de su último
+     * renglón hacia la banda siguiente; después se cosen las bandas de arriba
+     * hacia abajo con la misma regla de Eller (cada conjunto del renglón baja
+     * al menos una vez), y en el último renglón se unen los conjuntos que
+     * queden.
+     * @param ancho el ancho de la cuadrícula.
+     * @param alto el alto de la cuadrícula.
+     * @param semilla la semilla del generador de números aleatorios.
+     * @param pool el <i>pool</i> donde se generan las bandas.
+     * @return el laberinto generado.
+     * @throws IllegalArgumentException si las dimensiones son inválidas.
+     */
+    public static Laberinto eller(int ancho, int alto, long semilla,
+                                  ForkJoinPool pool) {
+        int n = celdas(ancho, alto);
+        int filas = filasPorBanda(ancho, alto);
+        int bandas = (alto + filas - 1) / filas;
+        SplittableRandom random = new SplittableRandom(semilla);
+        SplittableRandom[] randoms = new SplittableRandom[bandas];
+        for (int b = 0; b < bandas; b++)
+            randoms[b] = random.split();
+        byte[] aperturas = new byte[n];
+        int[] padres = new int[n];
+
+        pool.invoke(new Bandas(0, bandas, b -> ellerBanda(
+            ancho, b * filas, Math.min(alto, (b + 1) * filas),
+            aperturas, padres, randoms[b])));
+
+        for (int b = 1; b < bandas; b++)
+            baja(ancho, b * filas - 1, aperturas, padres, random);
+        for (int c = (alto - 1) * ancho; c < n - 1; c++)
+            if (une(padres, c, c + 1))
+                aperturas[c] |= Laberinto.ESTE;
+        return new Laberinto(ancho, alto, aperturas);
+    }
+
+    /**
+     * Genera un laberinto perfecto con el algoritmo de Eller y lo escribe
+     * renglón por renglón en el flujo de salida (ver {@link
+     * EscritorLaberinto}), en cuanto cada renglón queda fijo. Sólo se guarda
+     * el estado de un renglón, así que la memoria es <i>O</i>(<i>ancho</i>)
+     * sin importar el alto.
+     * @param ancho el ancho de la cuadrícula.
+     * @param alto el alto de la cuadrícula.
+     * @param semilla la semilla del generador de números aleatorios.
+     * @param salida el flujo donde se escribe el laberinto.
+     * @throws IOException si ocurre un error al escribir.
+     * @throws IllegalArgumentException si el ancho o el alto son no
+     *         positivos.
+     */
+    public static void ellerEnFlujo(int ancho, long alto, long semilla,
+                                    OutputStream salida) throws IOException {
+        EscritorLaberinto escritor =
+            new EscritorLaberinto(salida, ancho, alto, semilla);
+        SplittableRandom random = new SplittableRandom(semilla);
+        /* El conjunto de cada celda del renglón; los conjuntos se renombran
+         * en cada renglón para que siempre estén entre 0 y ancho-1. */
+        int[] conjuntos = new int[ancho];
+        ConjuntosDisjuntos disjuntos = new ConjuntosDisjuntos(ancho);
+        int[] nombres = new int[ancho];
+        boolean[] bajan = new boolean[ancho];
+        byte[] aperturas = new byte[ancho];
+        for (int x = 0; x < ancho; x++)
+            conjuntos[x] = x;
+
+        for (long y = 0; y < alto; y++) {
+            boolean ultimo = y == alto - 1;
+            Arrays.fill(aperturas, (byte)0);
+            for (int x = 0; x < ancho - 1; x++)
+                if ((ultimo || random.nextBoolean()) &&
+                    disjuntos.une(conjuntos[x], conjuntos[x + 1]))
+                    aperturas[x] |= Laberinto.ESTE;
+            if (!ultimo) {
+                Arrays.fill(bajan, false);
+                for (int x = 0; x < ancho; x++)
+                    if (random.nextBoolean()) {
+                        aperturas[x] |= Laberinto.SUR;
+                        bajan[disjuntos.busca(conjuntos[x])] = true;
+                    }
+                for (int x = 0; x < ancho; x++) {
+                    int r = disjuntos.busca(conjuntos[x]);
+                    if (!bajan[r]) {
+                        aperturas[x] |= Laberinto.SUR;
+                        bajan[r] = true;
+                    }
+                }
+                /* Las celdas que bajan heredan el conjunto de arriba; las
+                 * demás empiezan uno nuevo. */
+                Arrays.fill(nombres, -1);
+                int k = 0;
+                for (int x = 0; x < ancho; x++) {
+                    if ((aperturas[x] & Laberinto.SUR) == 0) {
+                        conjuntos[x] = k++;
+                        continue;
+                    }
+                    int r = disjuntos.busca(conjuntos[x]);
+                    if (nombres[r] < 0)
+                        nombres[r] = k++;
+                    conjuntos[x] = nombres[r];
+                }
+                disjuntos.limpia();
+            }
+            escritor.escribe(aperturas);
+        }
+        escritor.termina();
+    }
+
+    /* Genera con Eller los renglones en [y0, y1), sin bajar del último. */
+    private static void ellerBanda(int ancho, int y0, int y1, byte[] aperturas,
+                                   int[] padres, SplittableRandom random) {
+        for (int c = y0 * ancho; c < y1 * ancho; c++)
+            padres[c] = c;
+        for (int y = y0; y < y1; y++) {
+            int inicio = y * ancho;
+            for (int c = inicio; c < inicio + ancho - 1; c++)
+                if (random.nextBoolean() && une(padres, c, c + 1))
+                    aperturas[c] |= Laberinto.ESTE;
+            if (y < y1 - 1)
+                baja(ancho, y, aperturas, padres, random);
+        }
+    }
+
+    /* Abre pasos al azar del renglón y al siguiente, y después se asegura de
+     * que cada conjunto del renglón tenga al menos uno. Como une cuelga
+     * siempre la raíz menor de la mayor, la raíz de un conjunto es su celda
+     * más grande, así que un conjunto ya baja si y sólo si su raíz está
+     * después del renglón y. Por eso Eller en paralelo no usa
+     * ConjuntosDisjuntos, que une por tamaño. */
+    private static void baja(int ancho, int y, byte[] aperturas, int[] padres,
+                             SplittableRandom random) {
+        int inicio = y * ancho, siguiente = inicio + ancho;
+        for (int c = inicio; c < siguiente; c++)
+            if (random.nextBoolean() && une(padres, c, c + ancho))
+                aperturas[c] |= Laberinto.SUR;
+        for (int c = inicio; c < siguiente; c++)
+            if (raiz(padres, c) < siguiente && une(padres, c, c + ancho))
+                aperturas[c] |= Laberinto.SUR;
+    }
+
+    /* Regresa la raíz del conjunto de la celda, partiendo a la mitad el
+     * camino. */
+    private static int raiz(int[] padres, int celda) {
+        while (padres[celda] != celda) {
+            padres[celda] = padres[padres[celda]];
+            celda = padres[celda];
+        }
+        return celda;
+    }
+
+    /* Une los conjuntos de dos celdas, colgando la raíz menor de la mayor;
+     * regresa false si ya estaban en el mismo conjunto. */
+    private static boolean une(int[] padres, int a, int b) {
+        int ra = raiz(padres, a), rb = raiz(padres, b);
+        if (ra == rb)
+            return false;
+        if (ra < rb)
+            padres[ra] = rb;
+        else
+            padres[rb] = ra;
+        return true;
+    }
+
+    /* Revisa las dimensiones y regresa el número de celdas. */
+    private static int celdas(int ancho, int alto) {
+        if (ancho <= 0 || alto <= 0)
+            throw new IllegalArgumentException("dimensiones invalidas");
+        long n = (long)ancho * alto;
+        if (n > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("demasiadas celdas");
+        return (int)n;
+    }
+
+    /* Regresa cuántos renglones tiene cada banda. */
+    private static int filasPorBanda(int ancho, int alto) {
+        return Math.max(1, Math.min(alto, CELDAS_POR_BANDA / ancho));
+    }
+
+    /* Abre el paso entre dos celdas adyacentes. */
+    private static void abre(byte[] aperturas, int ancho, int a, int b) {
+        int menor = Math.min(a, b);
+        aperturas[menor] |= (Math.max(a, b) - menor == ancho) ?
+            Laberinto.SUR : Laberinto.ESTE;
+    }
+
+    /* Regresa la celda adyacente en una dirección, o -1 si no hay. */
+    private static int mueve(int celda, int direccion, int ancho, int n) {
+        switch (direccion) {
+        case Laberinto.NORTE: return (celda >= ancho) ? celda - ancho : -1;
+        case Laberinto.ESTE:  return (celda % ancho != ancho - 1) ? celda + 1 : -1;
+        case Laberinto.SUR:   return (celda < n - ancho) ? celda + ancho : -1;
+        case Laberinto.OESTE: return (celda % ancho != 0) ? celda - 1 : -1;
+        default: throw new IllegalArgumentException("direccion invalida");
+        }
+    }
+
+    /* Nos dice si una celda está marcada. */
+    private static boolean visitada(long[] marcas, int celda) {
+        return (marcas[celda >>> 6] & (1L << celda)) != 0;
+    }
+
+    /* Marca una celda. */
+    private static void visita(long[] marcas, int celda) {
+        marcas[celda >>> 6] |= 1L << celda;
+    }
+}
@@ -1,7 +1,10 @@
 package mx.unam.ciencias.edd;
 
+import java.lang.reflect.Array;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Clase para gráficas. Una gráfica es un conjunto de vértices y aristas, tales
@@ -41,15 +44,31 @@ public class Grafica<T> implements Coleccion<T> {
         private Color color;
         /* La distancia del vértice. */
         private double distancia;
+        /* La estimación de la distancia que le falta al vértice para llegar
+         * al destino; sólo A* la usa. */
+        private double estimacion;
         /* El índice del vértice. */
         private int indice;
+        /* La marca de la última búsqueda que visitó al vértice. */
+        private int marca;
+        /* El vértice desde el que la última búsqueda llegó a éste. */
+        private Vertice predecesor;
+        /* El elemento del vértice en los conjuntos de componentes. */
+        private int componente;
         /* El diccionario de vecinos del vértice. */
         private Diccionario<T, Vecino> vecinos;
 
         /* Crea un nuevo vértice a partir de un elemento. */
         public Vertice(T elemento) {
+            this(elemento, CAPACIDAD_VECINOS);
+        }
+
+        /* Crea un nuevo vértice a partir de un elemento, con espacio para el
+         * número de vecinos recibido. */
+        public Vertice(T elemento, int capacidad) {
             this.elemento = elemento;
-            vecinos = new Diccionario<T, Vecino>();
+            vecinos = new Diccionario<T, Vecino>(capacidad,
+                                                 Direccionamiento.ABIERTO);
             color = Color.NINGUNO;
         }
 
@@ -83,9 +102,10 @@ public class Grafica<T> implements Coleccion<T> {
             return indice;
         }
 
-        /* Compara dos vértices por distancia. */
+        /* Compara dos vértices por distancia más estimación. */
         @Override public int compareTo(Vertice vertice) {
-            return Double.compare(distancia, vertice.distancia);
+            return Double.compare(distancia + estimacion,
+                                  vertice.distancia + vertice.estimacion);
         }
     }
 
@@ -126,27 +146,70 @@ public class Grafica<T> implements Coleccion<T> {
         }
     }
 
-    /* Interface para poder usar lambdas al buscar el elemento que sigue al
-     * reconstruir un camino. */
-    @FunctionalInterface
-    private interface BuscadorCamino<T> {
-        /* Regresa true si el vértice se sigue del vecino. */
-        public boolean seSiguen(Grafica<T>.Vertice v, Grafica<T>.Vecino a);
-    }
+    /* Capacidad inicial de los vecinos de un vértice; en un laberinto cada
+     * celda tiene a lo más cuatro vecinos. */
+    private static final int CAPACIDAD_VECINOS = 4;
+    /* Número máximo de árboles de trayectorias en caché. */
+    private static final int MAXIMO_CACHE = 16;
+    /* Peso entero máximo con el que Dijkstra usa una cola de cubetas. */
+    private static final int MAXIMO_PESO_CUBETAS = 1 << 10;
 
     /* Vértices. */
     private Diccionario<T, Vertice> vertices;
     /* Número de aristas. */
     private int aristas;
+    /* La época de la última búsqueda; ver nuevaEpoca. */
+    private int epoca;
+    /* Árboles de trayectorias ya calculados, por origen. */
+    private Diccionario<T, TrayectoriasMinimas<T>> cache;
+    /* Las componentes conexas, o null si hay que recalcularlas; ver
+     * conjuntos. */
+    private ConjuntosDisjuntos componentes;
 
     /**
-     * Constructor único.
+     * Construye una gráfica vacía.
      */
     public Grafica() {
-        vertices = new Diccionario<>();
+        vertices = new Diccionario<>(Direccionamiento.ABIERTO);
+        cache = new Diccionario<>(MAXIMO_CACHE, Direccionamiento.ABIERTO);
+        componentes = new ConjuntosDisjuntos(0);
         aristas = 0;
     }
 
+    /**
+     * Construye una gráfica a partir de una gráfica compacta, en una sola
+     * pasada por sus arreglos CSR y sin revisar arista por arista si ya
+     * existe. Ver {@link #congela} para la operación inversa.
+     * La gráfica compacta ya garantiza que cada arista aparece una vez en
+     * cada dirección y con el mismo peso.
+     * @param compacta la gráfica compacta.
+     */
+    public Grafica(GraficaCompacta<T> compacta) {
+        int n = compacta.getElementos();
+        vertices = new Diccionario<>(n, Direccionamiento.ABIERTO);
+        cache = new Diccionario<>(MAXIMO_CACHE, Direccionamiento.ABIERTO);
+        aristas = compacta.getAristas();
+
+        int[] desplazamientos = compacta.getDesplazamientos();
+        int[] destinos = compacta.getDestinos();
+        double[] pesos = compacta.getPesos();
+
+        @SuppressWarnings("unchecked") Vertice[] porIndice =
+            (Vertice[])Array.newInstance(Vertice.class, n);
+        for (int i = 0; i < n; i++) {
+            porIndice[i] = new Vertice(compacta.get(i),
+                                       desplazamientos[i + 1] - desplazamientos[i]);
+            vertices.agrega(porIndice[i].elemento, porIndice[i]);
+        }
+        for (int i = 0; i < n; i++) {
+            Vertice vertice = porIndice[i];
+            for (int j = desplazamientos[i]; j < desplazamientos[i + 1]; j++) {
+                Vertice vecino = porIndice[destinos[j]];
+                vertice.vecinos.agrega(vecino.elemento, new Vecino(vecino, pesos[j]));
+            }
+        }
+    }
+
     /**
      * Regresa el número de elementos en la gráfica. El número de elementos es
      * igual al número de vértices.
@@ -173,7 +236,11 @@ public class Grafica<T> implements Coleccion<T> {
     @Override public void agrega(T elemento) {
         if (elemento == null || contiene(elemento))
             throw new IllegalArgumentException("el elemento ya esta en la grafica o es nulo");
-        vertices.agrega(elemento, new Vertice(elemento));
+        Vertice vertice = new Vertice(elemento);
+        vertices.agrega(elemento, vertice);
+        if (componentes != null)
+            vertice.componente = componentes.agrega();
+        invalida();
     }
 
     /**
@@ -211,6 +278,9 @@ public class Grafica<T> implements Coleccion<T> {
         verticeB.vecinos.agrega(a, new Vecino(verticeA, peso));
 
         aristas++;
+        if (componentes != null)
+            componentes.une(verticeA.componente, verticeB.componente);
+        invalida();
     }
 
     /**
@@ -232,6 +302,8 @@ public class Grafica<T> implements Coleccion<T> {
         verticeB.vecinos.elimina(a);
 
         aristas--;
+        componentes = null;
+        invalida();
     }
 
     /**
@@ -256,10 +328,12 @@ public class Grafica<T> implements Coleccion<T> {
 
         Vertice vertice = (Vertice) vertice(elemento);
         for (Vecino vecino : vertice.vecinos) {
-            desconecta(vecino.vecino.elemento, vertice.elemento);
-
+            vecino.vecino.vecinos.elimina(vertice.elemento);
+            aristas--;
         }
         vertices.elimina(elemento);
+        componentes = null;
+        invalida();
     }
 
     /**
@@ -325,6 +399,7 @@ public class Grafica<T> implements Coleccion<T> {
 
         verticeA.vecinos.get(b).peso = peso;
         verticeB.vecinos.get(a).peso = peso;
+        invalida();
     }
 
     /**
@@ -364,22 +439,55 @@ public class Grafica<T> implements Coleccion<T> {
     }
 
     /**
-     * Nos dice si la gráfica es conexa.
+     * Nos dice si la gráfica es conexa. Las componentes conexas se mantienen
+     * al agregar elementos y conectarlos, así que en ese caso la respuesta es
+     * inmediata; después de desconectar o eliminar se recalculan una vez, en
+     * tiempo lineal. El método no cambia el color de los vértices.
      * @return <code>true</code> si la gráfica es conexa, <code>false</code> en
      *         otro caso.
      */
     public boolean esConexa() {
-            
-        for (Vertice  t : vertices) {
-            recorrer(t.elemento, e -> {}, new Cola<Vertice>());
-            break;
-        }
-        
-        for (Vertice vertice : vertices) {
-            if (vertice.color == Color.ROJO)
-                return false;
-        }
-        return true;
+        return componentes() <= 1;
+    }
+
+    /**
+     * Regresa el número de componentes conexas de la gráfica. Como {@link
+     * #esConexa}, la respuesta es inmediata mientras sólo se agreguen
+     * elementos y aristas.
+     * @return el número de componentes conexas de la gráfica.
+     */
+    public int componentes() {
+        return conjuntos().getConjuntos();
+    }
+
+    /**
+     * Nos dice si dos elementos de la gráfica están en la misma componente
+     * conexa, es decir, si hay una trayectoria entre ellos.
+     * @param a el primer elemento.
+     * @param b el segundo elemento.
+     * @return <code>true</code> si a y b están en la misma componente conexa,
+     *         <code>false</code> en otro caso.
+     * @throws NoSuchElementException si a o b no son elementos de la gráfica.
+     */
+    public boolean mismaComponente(T a, T b) {
+        Vertice verticeA = (Vertice) vertice(a);
+        Vertice verticeB = (Vertice) vertice(b);
+        return conjuntos().conectados(verticeA.componente, verticeB.componente);
+    }
+
+    /* Regresa las componentes conexas, recalculándolas si alguna
+     * desconexión o eliminación las invalidó. */
+    private ConjuntosDisjuntos conjuntos() {
+        if (componentes != null)
+            return componentes;
+        componentes = new ConjuntosDisjuntos(vertices.getElementos());
+        int i = 0;
+        for (Vertice vertice : vertices)
+            vertice.componente = i++;
+        for (Vertice vertice : vertices)
+            for (Vecino vecino : vertice.vecinos)
+                componentes.une(vertice.componente, vecino.vecino.componente);
+        return componentes;
     }
 
     private void recorrer(T elemento, AccionVerticeGrafica<T> accion, MeteSaca<Vertice> objeto) {
@@ -423,7 +531,7 @@ public class Grafica<T> implements Coleccion<T> {
      * @throws NoSuchElementException si el elemento no está en la gráfica.
      */
     public void bfs(T elemento, AccionVerticeGrafica<T> accion) {
-        recorrer(elemento, accion, new Cola<Vertice>());
+        recorrer(elemento, accion, new ColaArreglo<Vertice>());
         paraCadaVertice((v) -> setColor(v, Color.NINGUNO));
     }
     
@@ -439,10 +547,47 @@ public class Grafica<T> implements Coleccion<T> {
      * @throws NoSuchElementException si el elemento no está en la gráfica.
      */
     public void dfs(T elemento, AccionVerticeGrafica<T> accion) {
-        recorrer(elemento, accion, new Pila<Vertice>());
+        recorrer(elemento, accion, new PilaArreglo<Vertice>());
         paraCadaVertice((v) -> setColor(v, Color.NINGUNO));
     }
 
+    /**
+     * Calcula con BFS paralelo el nivel de cada elemento alcanzable desde el
+     * elemento recibido, en el <i>pool</i> común de <i>fork-join</i>.
+     * @param elemento el elemento de origen.
+     * @return un diccionario con el número mínimo de aristas del origen a
+     *         cada elemento alcanzable.
+     * @throws NoSuchElementException si el elemento no está en la gráfica.
+     */
+    public Diccionario<T, Integer> niveles(T elemento) {
+        return niveles(elemento, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calcula con BFS paralelo el nivel de cada elemento alcanzable desde el
+     * elemento recibido. La gráfica se congela (ver {@link #congela}) y el
+     * recorrido se hace sobre la fotografía con {@link
+     * GraficaCompacta#niveles}; para varios recorridos sobre una gráfica que
+     * no cambia conviene congelarla una vez y usar directamente la gráfica
+     * compacta. El método no cambia el color de los vértices.
+     * @param elemento el elemento de origen.
+     * @param pool el <i>pool</i> donde se expanden las fronteras.
+     * @return un diccionario con el número mínimo de aristas del origen a
+     *         cada elemento alcanzable.
+     * @throws NoSuchElementException si el elemento no está en la gráfica.
+     */
+    public Diccionario<T, Integer> niveles(T elemento, ForkJoinPool pool) {
+        vertice(elemento);
+        GraficaCompacta<T> compacta = congela();
+        int[] niveles = compacta.niveles(elemento, pool);
+        Diccionario<T, Integer> regreso =
+            new Diccionario<>(vertices.getElementos(), Direccionamiento.ABIERTO);
+        for (int i = 0; i < niveles.length; i++)
+            if (niveles[i] >= 0)
+                regreso.agrega(compacta.get(i), niveles[i]);
+        return regreso;
+    }
+
     /**
      * Nos dice si la gráfica es vacía.
      * @return <code>true</code> si la gráfica es vacía, <code>false</code> en
@@ -458,6 +603,15 @@ public class Grafica<T> implements Coleccion<T> {
     @Override public void limpia() {
         vertices.limpia();
         aristas = 0;
+        componentes = new ConjuntosDisjuntos(0);
+        invalida();
+    }
+
+    /* Descarta los árboles de trayectorias en caché; se llama cada vez que
+     * cambian los vértices, las aristas o los pesos. */
+    private void invalida() {
+        if (!cache.esVacia())
+            cache.limpia();
     }
 
     /**
@@ -524,7 +678,8 @@ public class Grafica<T> implements Coleccion<T> {
     }
 
     /**
-     * Calcula una trayectoria de distancia mínima entre dos vértices.
+     * Calcula una trayectoria de distancia mínima entre dos vértices, usando
+     * BFS bidireccional.
      * @param origen el vértice de origen.
      * @param destino el vértice de destino.
      * @return Una lista con vértices de la gráfica, tal que forman una
@@ -535,64 +690,168 @@ public class Grafica<T> implements Coleccion<T> {
      *         la gráfica.
      */
     public Lista<VerticeGrafica<T>> trayectoriaMinima(T origen, T destino) {
+        return trayectoriaMinima(origen, destino, true);
+    }
+
+    /**
+     * Calcula una trayectoria de distancia mínima entre dos vértices. En
+     * ambos modos la búsqueda se detiene en cuanto encuentra la trayectoria, y
+     * sólo visita los vértices que alcanza, sin recorrer toda la gráfica.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     * @param bidireccional si es <code>true</code>, la búsqueda crece
+     *        fronteras desde el origen y desde el destino, y se detiene cuando
+     *        se tocan; si es <code>false</code>, hace BFS desde el origen.
+     * @return Una lista con vértices de la gráfica, tal que forman una
+     *         trayectoria de distancia mínima entre los vértices <code>a</code> y
+     *         <code>b</code>. Si los elementos se encuentran en componentes conexos
+     *         distintos, el algoritmo regresa una lista vacía.
+     * @throws NoSuchElementException si alguno de los dos elementos no está en
+     *         la gráfica.
+     */
+    public Lista<VerticeGrafica<T>> trayectoriaMinima(T origen, T destino,
+                                                      boolean bidireccional) {
         if (!contiene(origen) || !contiene(destino))
             throw new NoSuchElementException("algun elemento no esta contenido");
-        
+
         Vertice verticeO = (Vertice) vertice(origen);
-        if(verticeO.equals(destino)){
-            Lista<VerticeGrafica<T>> lista = new Lista<>();
-            lista.agrega(verticeO);
-            return lista;
+        Vertice verticeD = (Vertice) vertice(destino);
+        Lista<VerticeGrafica<T>> regreso = new Lista<>();
+        if (verticeO == verticeD) {
+            regreso.agrega(verticeO);
+            return regreso;
         }
 
-        for (Vertice vertice : vertices) {
-            vertice.distancia = Double.MAX_VALUE;
+        int marcaO = nuevaEpoca();
+        int marcaD = marcaO + 1;
+        verticeO.marca = marcaO;
+        verticeO.predecesor = null;
+        verticeD.marca = marcaD;
+        verticeD.predecesor = null;
+
+        if (!bidireccional) {
+            ColaArreglo<Vertice> cola = new ColaArreglo<>();
+            cola.mete(verticeO);
+            while (!cola.esVacia()) {
+                Vertice actual = cola.saca();
+                for (Vecino vecino : actual.vecinos) {
+                    Vertice v = vecino.vecino;
+                    if (v == verticeD) {
+                        agregaCaminoInicio(regreso, actual);
+                        regreso.agrega(verticeD);
+                        return regreso;
+                    }
+                    if (v.marca != marcaO) {
+                        v.marca = marcaO;
+                        v.predecesor = actual;
+                        cola.mete(v);
+                    }
+                }
+            }
+            return regreso;
         }
 
-        verticeO.distancia = 0;
-
-        Cola<Vertice> cola = new Cola<>();
-        cola.mete(verticeO);
-
-        while(!cola.esVacia()){
-            Vertice actual = cola.saca();
-            for (Vecino vecino : actual.vecinos) {
-                if(vecino.vecino.distancia == Double.MAX_VALUE){
-                    vecino.vecino.distancia = actual.distancia + 1;
-                    cola.mete(vecino.vecino);
+        Lista<Vertice> fronteraO = new Lista<>();
+        Lista<Vertice> fronteraD = new Lista<>();
+        fronteraO.agrega(verticeO);
+        fronteraD.agrega(verticeD);
+
+        while (!fronteraO.esVacia() && !fronteraD.esVacia()) {
+            /* Expandimos un nivel completo de la frontera más chica; la
+             * primera arista que toca la otra búsqueda da una trayectoria
+             * mínima. */
+            boolean desdeOrigen = fronteraO.getLongitud() <= fronteraD.getLongitud();
+            Lista<Vertice> frontera = desdeOrigen ? fronteraO : fronteraD;
+            int propia = desdeOrigen ? marcaO : marcaD;
+            int otra = desdeOrigen ? marcaD : marcaO;
+            Lista<Vertice> siguiente = new Lista<>();
+
+            for (Vertice actual : frontera) {
+                for (Vecino vecino : actual.vecinos) {
+                    Vertice v = vecino.vecino;
+                    if (v.marca == otra) {
+                        Vertice a = desdeOrigen ? actual : v;
+                        Vertice b = desdeOrigen ? v : actual;
+                        agregaCaminoInicio(regreso, a);
+                        agregaCaminoFinal(regreso, b);
+                        return regreso;
+                    }
+                    if (v.marca != propia) {
+                        v.marca = propia;
+                        v.predecesor = actual;
+                        siguiente.agrega(v);
+                    }
                 }
-
             }
+
+            if (desdeOrigen)
+                fronteraO = siguiente;
+            else
+                fronteraD = siguiente;
         }
-        return Trayectoria((aux, vecino) -> vecino.vecino.distancia == aux.distancia - 1,
-                (Vertice) vertice(destino));
+        return regreso;
     }
 
-    private Lista<VerticeGrafica<T>> Trayectoria(BuscadorCamino<T> buscador, Vertice destino){
-        Vertice aux = destino;
+    /* Regresa una nueva época para marcar los vértices visitados por una
+     * búsqueda; cada búsqueda usa dos marcas consecutivas. Así no hay que
+     * limpiar las marcas de toda la gráfica antes de cada búsqueda. */
+    private int nuevaEpoca() {
+        if (epoca >= Integer.MAX_VALUE - 2) {
+            for (Vertice vertice : vertices)
+                vertice.marca = 0;
+            epoca = 0;
+        }
+        epoca += 2;
+        return epoca;
+    }
 
+    /* Agrega al inicio de la lista el camino de predecesores del vértice,
+     * así que queda en orden de la raíz de su búsqueda al vértice. */
+    private void agregaCaminoInicio(Lista<VerticeGrafica<T>> lista,
+                                    Vertice vertice) {
+        for (Vertice v = vertice; v != null; v = v.predecesor)
+            lista.agregaInicio(v);
+    }
+
+    /* Agrega al final de la lista el camino de predecesores del vértice, en
+     * orden del vértice a la raíz de su búsqueda. */
+    private void agregaCaminoFinal(Lista<VerticeGrafica<T>> lista,
+                                   Vertice vertice) {
+        for (Vertice v = vertice; v != null; v = v.predecesor)
+            lista.agrega(v);
+    }
+
+    /* Reconstruye la trayectoria al destino siguiendo los predecesores que
+     * dejó la última búsqueda; si el destino no fue alcanzado, regresa una
+     * lista vacía. */
+    private Lista<VerticeGrafica<T>> trayectoria(Vertice destino) {
         Lista<VerticeGrafica<T>> regreso = new Lista<>();
+        if (destino.distancia != Double.MAX_VALUE)
+            agregaCaminoInicio(regreso, destino);
+        return regreso;
+    }
 
-        if (aux.distancia == Double.MAX_VALUE)
-            return regreso;
-        
-        regreso.agrega(aux);
-
-        while(aux.distancia != 0){
-            for(Vecino vecino : aux.vecinos){
-                if(buscador.seSiguen(aux, vecino)){
-                    regreso.agregaInicio(vecino.vecino);
-                    aux = vecino.vecino;
-                    break;
-                }
+    /* Regresa el peso máximo de las aristas si todos son enteros y caben en
+     * una cola de cubetas no más grande que el número de vértices o que
+     * MAXIMO_PESO_CUBETAS; en otro caso regresa -1. */
+    private int pesoEnteroMaximo() {
+        int cota = Math.min(vertices.getElementos(), MAXIMO_PESO_CUBETAS);
+        int maximo = 0;
+        for (Vertice vertice : vertices)
+            for (Vecino vecino : vertice.vecinos) {
+                if (vecino.peso > cota || vecino.peso != Math.rint(vecino.peso))
+                    return -1;
+                maximo = Math.max(maximo, (int)vecino.peso);
             }
-        }
-        return regreso;
+        return maximo;
     }
 
     /**
      * Calcula la ruta de peso mínimo entre el elemento de origen y el elemento
-     * de destino.
+     * de destino. Si todos los pesos son enteros y pequeños, usa una {@link
+     * MonticuloCubetas cola de cubetas}, en la que eliminar el mínimo toma
+     * tiempo constante amortizado; si no, un {@link MonticuloDArio montículo
+     * 4-ario}.
      * @param origen el vértice origen.
      * @param destino el vértice destino.
      * @return una trayectoria de peso mínimo entre el vértice <code>origen</code> y
@@ -606,25 +865,25 @@ public class Grafica<T> implements Coleccion<T> {
             throw new NoSuchElementException("algun elemento no esta contenido");
 
         Vertice verticeO = (Vertice) vertice(origen);
-        if (verticeO.equals(destino)) {
-            Lista<VerticeGrafica<T>> lista = new Lista<>();
-            lista.agrega(verticeO);
-            return lista;
-        }
 
         for (Vertice vertice : vertices) {
             vertice.distancia = Double.MAX_VALUE;
+            vertice.estimacion = 0;
         }
 
         verticeO.distancia = 0;
-            
+        verticeO.predecesor = null;
         
         MonticuloDijkstra<Vertice> monticulo;
         int n = vertices.getElementos();
-        if (aristas > ((n * (n - 1)) / 2) - n)
-            monticulo = new MonticuloArreglo<>(vertices, vertices.getElementos());
+        int ancho = pesoEnteroMaximo();
+        if (ancho > 0)
+            monticulo = new MonticuloCubetas<>(vertices, n, ancho,
+                                               v -> v.distancia == Double.MAX_VALUE ?
+                                               MonticuloCubetas.INFINITO :
+                                               (long)v.distancia);
         else
-            monticulo = new MonticuloMinimo<>(vertices, vertices.getElementos());
+            monticulo = new MonticuloDArio<>(vertices, n);
 
         while(!monticulo.esVacia()){
             Vertice min = monticulo.elimina();
@@ -632,12 +891,170 @@ public class Grafica<T> implements Coleccion<T> {
             for (Vecino vecino : min.vecinos) {
                 if (vecino.vecino.distancia > min.distancia + vecino.peso) {
                     vecino.vecino.distancia = min.distancia + vecino.peso;
+                    vecino.vecino.predecesor = min;
                     monticulo.reordena(vecino.vecino);
                 }
             }
         }
-        return Trayectoria((vertice, vecino) -> vecino.vecino.distancia + vecino.peso == vertice.distancia,
-                (Vertice) vertice(destino));
-        
+        return trayectoria((Vertice) vertice(destino));
+    }
+
+    /**
+     * Calcula una ruta de peso mínimo entre el elemento de origen y el
+     * elemento de destino usando A*. A diferencia de {@link #dijkstra}, el
+     * algoritmo sólo explora los vértices que la heurística considera
+     * prometedores, y se detiene en cuanto fija la distancia del destino.
+     * @param origen el vértice origen.
+     * @param destino el vértice destino.
+     * @param heuristica la heurística para estimar la distancia de un
+     *        elemento al destino; debe ser consistente (ver {@link
+     *        Heuristica#estima}).
+     * @return una trayectoria de peso mínimo entre el vértice <code>origen</code> y
+     *         el vértice <code>destino</code>. Si los vértices están en componentes
+     *         conexas distintas, regresa una lista vacía.
+     * @throws NoSuchElementException si alguno de los dos elementos no está en
+     *         la gráfica.
+     */
+    public Lista<VerticeGrafica<T>> aStar(T origen, T destino,
+                                          Heuristica<T> heuristica) {
+        if (!contiene(origen) || !contiene(destino))
+            throw new NoSuchElementException("algun elemento no esta contenido");
+
+        Vertice verticeO = (Vertice) vertice(origen);
+        Vertice verticeD = (Vertice) vertice(destino);
+
+        for (Vertice vertice : vertices) {
+            vertice.distancia = Double.MAX_VALUE;
+            vertice.indice = -1;
+        }
+
+        verticeO.distancia = 0;
+        verticeO.predecesor = null;
+        verticeO.estimacion = heuristica.estima(origen, destino);
+
+        MonticuloDArio<Vertice> monticulo = new MonticuloDArio<>();
+        monticulo.agrega(verticeO);
+
+        while (!monticulo.esVacia()) {
+            Vertice min = monticulo.elimina();
+            if (min == verticeD)
+                break;
+
+            for (Vecino vecino : min.vecinos) {
+                Vertice v = vecino.vecino;
+                if (v.distancia > min.distancia + vecino.peso) {
+                    if (v.distancia == Double.MAX_VALUE)
+                        v.estimacion = heuristica.estima(v.elemento, destino);
+                    v.distancia = min.distancia + vecino.peso;
+                    v.predecesor = min;
+                    if (v.indice < 0)
+                        monticulo.agrega(v);
+                    else
+                        monticulo.reordena(v);
+                }
+            }
+        }
+        return trayectoria(verticeD);
+    }
+
+    /**
+     * Calcula con Dijkstra el árbol de trayectorias de peso mínimo desde el
+     * origen a todos los elementos alcanzables. El árbol se guarda en caché:
+     * pedirlo otra vez para el mismo origen no lo recalcula, a menos que la
+     * gráfica haya cambiado (con {@link #agrega}, {@link #conecta}, {@link
+     * #desconecta}, {@link #setPeso}, {@link #elimina} o {@link #limpia}).
+     * @param origen el elemento de origen.
+     * @return el árbol de trayectorias de peso mínimo desde el origen.
+     * @throws NoSuchElementException si el origen no está en la gráfica.
+     */
+    public TrayectoriasMinimas<T> trayectoriasMinimas(T origen) {
+        if (!contiene(origen))
+            throw new NoSuchElementException("el elemento no esta contenido");
+        if (cache.contiene(origen))
+            return cache.get(origen);
+
+        Vertice verticeO = (Vertice) vertice(origen);
+        for (Vertice vertice : vertices) {
+            vertice.distancia = Double.MAX_VALUE;
+            vertice.estimacion = 0;
+            vertice.indice = -1;
+        }
+        verticeO.distancia = 0;
+        verticeO.predecesor = null;
+
+        int n = vertices.getElementos();
+        Diccionario<T, Integer> indices = new Diccionario<>(n, Direccionamiento.ABIERTO);
+        @SuppressWarnings("unchecked") T[] elementos = (T[])new Object[n];
+        double[] distancias = new double[n];
+        int[] predecesores = new int[n];
+        int alcanzados = 0;
+
+        MonticuloDArio<Vertice> monticulo = new MonticuloDArio<>();
+        monticulo.agrega(verticeO);
+        while (!monticulo.esVacia()) {
+            Vertice min = monticulo.elimina();
+            indices.agrega(min.elemento, alcanzados);
+            elementos[alcanzados] = min.elemento;
+            distancias[alcanzados] = min.distancia;
+            predecesores[alcanzados] = (min.predecesor == null) ? -1 :
+                indices.get(min.predecesor.elemento);
+            alcanzados++;
+
+            for (Vecino vecino : min.vecinos) {
+                Vertice v = vecino.vecino;
+                if (v.distancia > min.distancia + vecino.peso) {
+                    v.distancia = min.distancia + vecino.peso;
+                    v.predecesor = min;
+                    if (v.indice < 0)
+                        monticulo.agrega(v);
+                    else
+                        monticulo.reordena(v);
+                }
+            }
+        }
+
+        TrayectoriasMinimas<T> trayectorias = new TrayectoriasMinimas<>(
+            indices, Arrays.copyOf(elementos, alcanzados),
+            Arrays.copyOf(distancias, alcanzados),
+            Arrays.copyOf(predecesores, alcanzados));
+        if (cache.getElementos() >= MAXIMO_CACHE)
+            cache.limpia();
+        cache.agrega(origen, trayectorias);
+        return trayectorias;
+    }
+
+    /**
+     * Congela la gráfica en una {@link GraficaCompacta}: una fotografía
+     * inmutable en arreglos contiguos sobre la que varios hilos pueden hacer
+     * búsquedas al mismo tiempo. Los cambios posteriores a la gráfica no
+     * afectan a la fotografía.
+     * @return una gráfica compacta con los mismos elementos, aristas y pesos.
+     */
+    public GraficaCompacta<T> congela() {
+        int n = vertices.getElementos();
+        @SuppressWarnings("unchecked") T[] elementos = (T[])new Object[n];
+        Diccionario<T, Integer> indices = new Diccionario<>(n, Direccionamiento.ABIERTO);
+        int[] desplazamientos = new int[n + 1];
+
+        int i = 0;
+        for (Vertice vertice : vertices) {
+            vertice.indice = i;
+            elementos[i] = vertice.elemento;
+            indices.agrega(vertice.elemento, i);
+            desplazamientos[i + 1] = desplazamientos[i] + vertice.vecinos.getElementos();
+            i++;
+        }
+
+        int[] destinos = new int[desplazamientos[n]];
+        double[] pesos = new double[desplazamientos[n]];
+        int j = 0;
+        for (Vertice vertice : vertices) {
+            for (Vecino vecino : vertice.vecinos) {
+                destinos[j] = vecino.vecino.indice;
+                pesos[j++] = vecino.peso;
+            }
+        }
+        return new GraficaCompacta<>(elementos, indices, desplazamientos,
+                                     destinos, pesos);
     }
 }
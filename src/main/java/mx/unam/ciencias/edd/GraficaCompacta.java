@@ -0,0 +1,380 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * <p>Clase para gráficas compactas inmutables. Una gráfica compacta es una
+ * fotografía de una {@link Grafica} (ver {@link Grafica#congela}) guardada en
+ * formato CSR (<i>compressed sparse row</i>): los vecinos del vértice con
+ * índice <i>i</i> son los índices en <code>destinos</code> entre
+ * <code>desplazamientos[i]</code> y <code>desplazamientos[i+1]</code>, y los
+ * pesos de esas aristas están en las mismas posiciones de
+ * <code>pesos</code>.</p>
+ *
+ * <p>Como la gráfica no cambia y cada búsqueda guarda su estado en arreglos
+ * propios, varios hilos pueden hacer búsquedas sobre la misma gráfica
+ * compacta al mismo tiempo.</p>
+ */
+public class GraficaCompacta<T> {
+
+    /* El índice de cada elemento. */
+    private final Diccionario<T, Integer> indices;
+    /* Los elementos, por índice. */
+    private final T[] elementos;
+    /* Dónde empiezan los vecinos de cada vértice; tiene n+1 entradas. */
+    private final int[] desplazamientos;
+    /* Los índices de los vecinos. */
+    private final int[] destinos;
+    /* Los pesos de las aristas. */
+    private final double[] pesos;
+
+    /**
+     * Construye una gráfica compacta a partir de sus arreglos CSR. Los
+     * arreglos no se copian, así que no deben modificarse después. Cada
+     * arista debe aparecer en ambas direcciones y con el mismo peso.
+     * @param elementos los elementos, por índice; no puede haber repetidos.
+     * @param desplazamientos dónde empiezan los vecinos de cada elemento en
+     *        <code>destinos</code>; tiene un elemento más que
+     *        <code>elementos</code>.
+     * @param destinos los índices de los vecinos.
+     * @param pesos los pesos de las aristas, en las mismas posiciones que
+     *        <code>destinos</code>.
+     * @throws IllegalArgumentException si los arreglos no describen una
+     *         gráfica válida.
+     */
+    public GraficaCompacta(T[] elementos, int[] desplazamientos,
+                           int[] destinos, double[] pesos) {
+        this(elementos, indiza(elementos), desplazamientos, destinos, pesos);
+        int n = elementos.length;
+        if (desplazamientos.length != n + 1 || desplazamientos[0] != 0 ||
+            desplazamientos[n] != destinos.length ||
+            pesos.length != destinos.length || destinos.length % 2 != 0)
+            throw new IllegalArgumentException("arreglos CSR inconsistentes");
+        for (int i = 0; i < n; i++) {
+            if (desplazamientos[i] > desplazamientos[i + 1])
+                throw new IllegalArgumentException("desplazamientos decrecientes");
+            for (int j = desplazamientos[i]; j < desplazamientos[i + 1]; j++)
+                if (destinos[j] < 0 || destinos[j] >= n || destinos[j] == i ||
+                    !(pesos[j] > 0))
+                    throw new IllegalArgumentException("arista invalida");
+        }
+        revisaSimetria(n, desplazamientos, destinos, pesos);
+    }
+
+    /* Lanza una excepción si algún vértice tiene un vecino repetido, o si
+     * alguna arista (i, j) no tiene su arista (j, i) con el mismo peso. Arma
+     * la transpuesta de los arreglos CSR y compara cada renglón con el
+     * renglón transpuesto, marcando los vecinos del renglón. */
+    private static void revisaSimetria(int n, int[] desplazamientos,
+                                       int[] destinos, double[] pesos) {
+        int[] inicios = new int[n + 1];
+        for (int destino : destinos)
+            inicios[destino + 1]++;
+        for (int i = 0; i < n; i++)
+            inicios[i + 1] += inicios[i];
+        int[] origenes = new int[destinos.length];
+        double[] pesosOrigenes = new double[destinos.length];
+        int[] siguiente = Arrays.copyOf(inicios, n);
+        for (int i = 0; i < n; i++)
+            for (int j = desplazamientos[i]; j < desplazamientos[i + 1]; j++) {
+                int k = siguiente[destinos[j]]++;
+                origenes[k] = i;
+                pesosOrigenes[k] = pesos[j];
+            }
+
+        int[] marcas = new int[n];
+        int[] posiciones = new int[n];
+        Arrays.fill(marcas, -1);
+        for (int i = 0; i < n; i++) {
+            for (int j = desplazamientos[i]; j < desplazamientos[i + 1]; j++) {
+                if (marcas[destinos[j]] == i)
+                    throw new IllegalArgumentException("arista repetida");
+                marcas[destinos[j]] = i;
+                posiciones[destinos[j]] = j;
+            }
+            if (inicios[i + 1] - inicios[i] != desplazamientos[i + 1] - desplazamientos[i])
+                throw new IllegalArgumentException("hay aristas en una sola direccion");
+            for (int k = inicios[i]; k < inicios[i + 1]; k++)
+                if (marcas[origenes[k]] != i ||
+                    pesos[posiciones[origenes[k]]] != pesosOrigenes[k])
+                    throw new IllegalArgumentException("hay aristas en una sola direccion");
+        }
+    }
+
+    /* Construye una gráfica compacta a partir de sus arreglos ya
+     * validados. */
+    GraficaCompacta(T[] elementos, Diccionario<T, Integer> indices,
+                    int[] desplazamientos, int[] destinos, double[] pesos) {
+        this.elementos = elementos;
+        this.indices = indices;
+        this.desplazamientos = desplazamientos;
+        this.destinos = destinos;
+        this.pesos = pesos;
+    }
+
+    /* Regresa un diccionario con el índice de cada elemento. */
+    private static <T> Diccionario<T, Integer> indiza(T[] elementos) {
+        Diccionario<T, Integer> indices =
+            new Diccionario<>(elementos.length, Direccionamiento.ABIERTO);
+        for (int i = 0; i < elementos.length; i++) {
+            if (elementos[i] == null || indices.contiene(elementos[i]))
+                throw new IllegalArgumentException("elemento nulo o repetido");
+            indices.agrega(elementos[i], i);
+        }
+        return indices;
+    }
+
+    /**
+     * Regresa el número de elementos en la gráfica.
+     * @return el número de elementos en la gráfica.
+     */
+    public int getElementos() {
+        return elementos.length;
+    }
+
+    /**
+     * Regresa el número de aristas.
+     * @return el número de aristas.
+     */
+    public int getAristas() {
+        return destinos.length / 2;
+    }
+
+    /**
+     * Nos dice si el elemento está contenido en la gráfica.
+     * @param elemento el elemento.
+     * @return <code>true</code> si el elemento está contenido en la gráfica,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(T elemento) {
+        return indices.contiene(elemento);
+    }
+
+    /**
+     * Regresa el índice del elemento en la gráfica.
+     * @param elemento el elemento.
+     * @return el índice del elemento.
+     * @throws NoSuchElementException si el elemento no está en la gráfica.
+     */
+    public int indice(T elemento) {
+        if (!indices.contiene(elemento))
+            throw new NoSuchElementException("el elemento no esta en la grafica");
+        return indices.get(elemento);
+    }
+
+    /**
+     * Regresa el elemento con el índice recibido.
+     * @param indice el índice.
+     * @return el elemento con el índice recibido.
+     * @throws NoSuchElementException si el índice es inválido.
+     */
+    public T get(int indice) {
+        if (indice < 0 || indice >= elementos.length)
+            throw new NoSuchElementException("indice invalido");
+        return elementos[indice];
+    }
+
+    /**
+     * Regresa el grado del elemento con el índice recibido.
+     * @param indice el índice.
+     * @return el grado del elemento.
+     * @throws NoSuchElementException si el índice es inválido.
+     */
+    public int getGrado(int indice) {
+        get(indice);
+        return desplazamientos[indice + 1] - desplazamientos[indice];
+    }
+
+    /**
+     * Regresa una copia de los desplazamientos CSR: los vecinos del elemento
+     * con índice <i>i</i> están en las posiciones
+     * <code>desplazamientos[i]</code> a <code>desplazamientos[i+1]</code>-1
+     * de los destinos.
+     * @return una copia de los desplazamientos.
+     */
+    public int[] getDesplazamientos() {
+        return Arrays.copyOf(desplazamientos, desplazamientos.length);
+    }
+
+    /**
+     * Regresa una copia de los destinos CSR, los índices de los vecinos.
+     * @return una copia de los destinos.
+     */
+    public int[] getDestinos() {
+        return Arrays.copyOf(destinos, destinos.length);
+    }
+
+    /**
+     * Regresa una copia de los pesos CSR, en las mismas posiciones que los
+     * destinos.
+     * @return una copia de los pesos.
+     */
+    public double[] getPesos() {
+        return Arrays.copyOf(pesos, pesos.length);
+    }
+
+    /**
+     * Realiza la acción recibida en todos los elementos alcanzables desde el
+     * elemento recibido, en el orden determinado por BFS.
+     * @param elemento el elemento donde comienza el recorrido.
+     * @param accion la acción a realizar.
+     * @throws NoSuchElementException si el elemento no está en la gráfica.
+     */
+    public void bfs(T elemento, AccionElementoGrafica<T> accion) {
+        recorre(elemento, accion, true);
+    }
+
+    /**
+     * Realiza la acción recibida en todos los elementos alcanzables desde el
+     * elemento recibido, en el orden determinado por DFS.
+     * @param elemento el elemento donde comienza el recorrido.
+     * @param accion la acción a realizar.
+     * @throws NoSuchElementException si el elemento no está en la gráfica.
+     */
+    public void dfs(T elemento, AccionElementoGrafica<T> accion) {
+        recorre(elemento, accion, false);
+    }
+
+    /**
+     * Calcula con BFS paralelo el nivel de cada elemento desde el origen, en
+     * el <i>pool</i> común de <i>fork-join</i>.
+     * @param origen el elemento de origen.
+     * @return el número mínimo de aristas del origen a cada elemento, por
+     *         índice, o -1 para los elementos que no se alcanzan.
+     * @throws NoSuchElementException si el origen no está en la gráfica.
+     */
+    public int[] niveles(T origen) {
+        return niveles(origen, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calcula con BFS paralelo el nivel de cada elemento desde el origen.
+     * Cada nivel expande su frontera completa en paralelo; ver {@link
+     * #bfs} para un recorrido secuencial.
+     * @param origen el elemento de origen.
+     * @param pool el <i>pool</i> donde se expanden las fronteras.
+     * @return el número mínimo de aristas del origen a cada elemento, por
+     *         índice, o -1 para los elementos que no se alcanzan.
+     * @throws NoSuchElementException si el origen no está en la gráfica.
+     */
+    public int[] niveles(T origen, ForkJoinPool pool) {
+        return RecorridoParalelo.niveles(elementos.length, indice(origen),
+                                         new RecorridoParalelo.Adyacencias() {
+            @Override public int grado(int vertice) {
+                return desplazamientos[vertice + 1] - desplazamientos[vertice];
+            }
+            @Override public int vecino(int vertice, int i) {
+                return destinos[desplazamientos[vertice] + i];
+            }
+        }, pool);
+    }
+
+    /* Recorre la gráfica con una cola o con una pila de enteros. */
+    private void recorre(T elemento, AccionElementoGrafica<T> accion,
+                         boolean cola) {
+        int origen = indice(elemento);
+        boolean[] visitados = new boolean[elementos.length];
+        IntMeteSaca pendientes = cola ? new IntCola() : new IntPila();
+        visitados[origen] = true;
+        pendientes.mete(origen);
+        while (!pendientes.esVacia()) {
+            int actual = pendientes.saca();
+            accion.actua(elementos[actual]);
+            for (int j = desplazamientos[actual]; j < desplazamientos[actual + 1]; j++) {
+                int vecino = destinos[j];
+                if (!visitados[vecino]) {
+                    visitados[vecino] = true;
+                    pendientes.mete(vecino);
+                }
+            }
+        }
+    }
+
+    /**
+     * Calcula una trayectoria de distancia mínima entre dos elementos. La
+     * búsqueda se detiene en cuanto llega al destino.
+     * @param origen el elemento de origen.
+     * @param destino el elemento de destino.
+     * @return una lista con los elementos de una trayectoria de distancia
+     *         mínima, del origen al destino; si no hay trayectoria, una lista
+     *         vacía.
+     * @throws NoSuchElementException si alguno de los dos elementos no está en
+     *         la gráfica.
+     */
+    public Lista<T> trayectoriaMinima(T origen, T destino) {
+        int o = indice(origen);
+        int d = indice(destino);
+        int[] predecesores = new int[elementos.length];
+        Arrays.fill(predecesores, -1);
+        IntCola cola = new IntCola();
+        predecesores[o] = o;
+        cola.mete(o);
+        while (!cola.esVacia()) {
+            int actual = cola.saca();
+            if (actual == d)
+                return trayectoria(predecesores, o, d);
+            for (int j = desplazamientos[actual]; j < desplazamientos[actual + 1]; j++) {
+                int vecino = destinos[j];
+                if (predecesores[vecino] < 0) {
+                    predecesores[vecino] = actual;
+                    cola.mete(vecino);
+                }
+            }
+        }
+        return new Lista<T>();
+    }
+
+    /**
+     * Calcula una trayectoria de peso mínimo entre dos elementos con
+     * Dijkstra. El algoritmo se detiene en cuanto fija la distancia del
+     * destino.
+     * @param origen el elemento de origen.
+     * @param destino el elemento de destino.
+     * @return una lista con los elementos de una trayectoria de peso mínimo,
+     *         del origen al destino; si no hay trayectoria, una lista vacía.
+     * @throws NoSuchElementException si alguno de los dos elementos no está en
+     *         la gráfica.
+     */
+    public Lista<T> dijkstra(T origen, T destino) {
+        int o = indice(origen);
+        int d = indice(destino);
+        double[] distancias = new double[elementos.length];
+        int[] predecesores = new int[elementos.length];
+        Arrays.fill(distancias, Double.MAX_VALUE);
+        Arrays.fill(predecesores, -1);
+        MonticuloIndexado monticulo = new MonticuloIndexado(distancias);
+        distancias[o] = 0;
+        predecesores[o] = o;
+        monticulo.agregaOReordena(o);
+        while (!monticulo.esVacia()) {
+            int actual = monticulo.elimina();
+            if (actual == d)
+                return trayectoria(predecesores, o, d);
+            for (int j = desplazamientos[actual]; j < desplazamientos[actual + 1]; j++) {
+                int vecino = destinos[j];
+                double distancia = distancias[actual] + pesos[j];
+                if (distancia < distancias[vecino]) {
+                    distancias[vecino] = distancia;
+                    predecesores[vecino] = actual;
+                    monticulo.agregaOReordena(vecino);
+                }
+            }
+        }
+        return new Lista<T>();
+    }
+
+    /* Reconstruye la trayectoria del origen al destino con los
+     * predecesores. */
+    private Lista<T> trayectoria(int[] predecesores, int origen, int destino) {
+        Lista<T> regreso = new Lista<>();
+        int i = destino;
+        while (i != origen) {
+            regreso.agregaInicio(elementos[i]);
+            i = predecesores[i];
+        }
+        regreso.agregaInicio(elementos[origen]);
+        return regreso;
+    }
+}
@@ -0,0 +1,21 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Interfaz para heurísticas del algoritmo A*. Una heurística estima el peso
+ * de una trayectoria mínima entre un elemento y el destino.
+ */
+@FunctionalInterface
+public interface Heuristica<T> {
+
+    /**
+     * Estima el peso de una trayectoria mínima del elemento al destino. Para
+     * que A* encuentre una trayectoria de peso mínimo, la estimación no debe
+     * ser mayor que el peso real, y para cada arista (<i>u</i>, <i>v</i>) la
+     * estimación de <i>u</i> no debe ser mayor que el peso de la arista más
+     * la estimación de <i>v</i>.
+     * @param elemento el elemento desde el que se estima.
+     * @param destino el elemento de destino.
+     * @return la estimación del peso de una trayectoria mínima.
+     */
+    public double estima(T elemento, T destino);
+}
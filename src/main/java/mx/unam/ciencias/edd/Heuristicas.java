@@ -0,0 +1,78 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Clase para fabricar heurísticas para laberintos. Las heurísticas suponen que
+ * los elementos son celdas de una cuadrícula identificadas con el entero
+ * <i>y</i> * <i>ancho</i> + <i>x</i> (como en {@link Laberinto}), y que ninguna
+ * arista pesa menos que el peso mínimo indicado.
+ */
+public class Heuristicas {
+
+    /* Constructor privado para evitar instanciación. */
+    private Heuristicas() {}
+
+    /**
+     * Regresa la heurística nula; con ella A* se comporta como Dijkstra.
+     * @param <T> tipo de los elementos de la gráfica.
+     * @return la heurística nula.
+     */
+    public static <T> Heuristica<T> nula() {
+        return (elemento, destino) -> 0.0;
+    }
+
+    /**
+     * Regresa la distancia Manhattan entre celdas de una cuadrícula, para
+     * aristas de peso al menos 1.
+     * @param ancho el ancho de la cuadrícula.
+     * @return la heurística de distancia Manhattan.
+     */
+    public static Heuristica<Integer> manhattan(int ancho) {
+        return manhattan(ancho, 1.0);
+    }
+
+    /**
+     * Regresa la distancia Manhattan entre celdas de una cuadrícula,
+     * multiplicada por el peso mínimo de las aristas.
+     * @param ancho el ancho de la cuadrícula.
+     * @param pesoMinimo el peso mínimo de las aristas.
+     * @return la heurística de distancia Manhattan.
+     * @throws IllegalArgumentException si el ancho o el peso mínimo son no
+     *         positivos.
+     */
+    public static Heuristica<Integer> manhattan(int ancho, double pesoMinimo) {
+        revisa(ancho, pesoMinimo);
+        return (a, b) -> pesoMinimo * (Math.abs(a % ancho - b % ancho) +
+                                       Math.abs(a / ancho - b / ancho));
+    }
+
+    /**
+     * Regresa la distancia euclidiana entre celdas de una cuadrícula, para
+     * aristas de peso al menos 1.
+     * @param ancho el ancho de la cuadrícula.
+     * @return la heurística de distancia euclidiana.
+     */
+    public static Heuristica<Integer> euclidiana(int ancho) {
+        return euclidiana(ancho, 1.0);
+    }
+
+    /**
+     * Regresa la distancia euclidiana entre celdas de una cuadrícula,
+     * multiplicada por el peso mínimo de las aristas.
+     * @param ancho el ancho de la cuadrícula.
+     * @param pesoMinimo el peso mínimo de las aristas.
+     * @return la heurística de distancia euclidiana.
+     * @throws IllegalArgumentException si el ancho o el peso mínimo son no
+     *         positivos.
+     */
+    public static Heuristica<Integer> euclidiana(int ancho, double pesoMinimo) {
+        revisa(ancho, pesoMinimo);
+        return (a, b) -> pesoMinimo * Math.hypot(a % ancho - b % ancho,
+                                                 a / ancho - b / ancho);
+    }
+
+    /* Revisa los parámetros de las heurísticas. */
+    private static void revisa(int ancho, double pesoMinimo) {
+        if (ancho <= 0 || pesoMinimo <= 0)
+            throw new IllegalArgumentException("parametros invalidos");
+    }
+}
@@ -0,0 +1,29 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Clase para colas de enteros sobre un arreglo circular de ints. Tiene el
+ * mismo comportamiento que {@link Cola}, sin envolver los enteros.
+ */
+public class IntCola extends IntMeteSaca {
+
+    /**
+     * Regresa una representación en cadena de la cola.
+     * @return una representación en cadena de la cola.
+     */
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < elementos; i++)
+            sb.append(get(i)).append(",");
+        return sb.toString();
+    }
+
+    /**
+     * Agrega un entero al final de la cola.
+     * @param entero el entero a agregar.
+     */
+    @Override public void mete(int entero) {
+        crece();
+        arreglo[(inicio + elementos) & (arreglo.length - 1)] = entero;
+        elementos++;
+    }
+}
@@ -0,0 +1,134 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase abstracta para estructuras lineales de enteros restringidas a
+ * operaciones mete/saca/mira, sobre un arreglo circular de ints.</p>
+ *
+ * <p>Es la versión primitiva de {@link MeteSacaArreglo}: los recorridos por
+ * índices (celdas de un laberinto, vértices de una {@link GraficaCompacta})
+ * meten y sacan enteros sin envolverlos en un {@link Integer} ni en un
+ * nodo. {@link #saca} y {@link #mira} trabajan siempre en la cabeza, y las
+ * clases concretas deciden de qué lado mete cada entero. El arreglo se duplica
+ * cuando se llena, así que la memoria es proporcional al máximo de enteros
+ * guardados al mismo tiempo, no al total de enteros metidos.</p>
+ */
+public abstract class IntMeteSaca {
+
+    /* Capacidad inicial del arreglo; debe ser potencia de dos. */
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    /** El arreglo de los enteros; su longitud es potencia de dos. */
+    protected int[] arreglo;
+    /** La posición de la cabeza en el arreglo. */
+    protected int inicio;
+    /** El número de enteros en la estructura. */
+    protected int elementos;
+
+    /**
+     * Construye una estructura vacía.
+     */
+    public IntMeteSaca() {
+        arreglo = new int[CAPACIDAD_INICIAL];
+    }
+
+    /**
+     * Agrega un entero al extremo de la estructura.
+     * @param entero el entero a agregar.
+     */
+    public abstract void mete(int entero);
+
+    /**
+     * Elimina el entero en la cabeza de la estructura y lo regresa.
+     * @return el entero en la cabeza de la estructura.
+     * @throws NoSuchElementException si la estructura está vacía.
+     */
+    public int saca() {
+        if (elementos == 0)
+            throw new NoSuchElementException("la estructura es vacia");
+        int regreso = arreglo[inicio];
+        inicio = (inicio + 1) & (arreglo.length - 1);
+        elementos--;
+        return regreso;
+    }
+
+    /**
+     * Nos permite ver el entero en la cabeza de la estructura, sin sacarlo de
+     * la misma.
+     * @return el entero en la cabeza de la estructura.
+     * @throws NoSuchElementException si la estructura está vacía.
+     */
+    public int mira() {
+        if (elementos == 0)
+            throw new NoSuchElementException("la estructura es vacia");
+        return arreglo[inicio];
+    }
+
+    /**
+     * Nos dice si la estructura está vacía.
+     * @return <code>true</code> si la estructura no tiene enteros,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Regresa el número de enteros en la estructura.
+     * @return el número de enteros en la estructura.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Vacía la estructura, conservando su arreglo.
+     */
+    public void limpia() {
+        inicio = elementos = 0;
+    }
+
+    /**
+     * Regresa el <i>i</i>-ésimo entero a partir de la cabeza, sin revisarlo.
+     * @param i la distancia a la cabeza; debe estar entre 0 y el número de
+     *        enteros menos uno.
+     * @return el <i>i</i>-ésimo entero a partir de la cabeza.
+     */
+    protected int get(int i) {
+        return arreglo[(inicio + i) & (arreglo.length - 1)];
+    }
+
+    /**
+     * Duplica el arreglo si está lleno, dejando la cabeza en la posición 0.
+     */
+    protected void crece() {
+        if (elementos < arreglo.length)
+            return;
+        int[] nuevo = new int[2 * arreglo.length];
+        int primera = arreglo.length - inicio;
+        System.arraycopy(arreglo, inicio, nuevo, 0, primera);
+        System.arraycopy(arreglo, 0, nuevo, primera, inicio);
+        arreglo = nuevo;
+        inicio = 0;
+    }
+
+    /**
+     * Compara la estructura con un objeto.
+     * @param objeto el objeto con el que queremos comparar la estructura.
+     * @return <code>true</code> si el objeto recibido es una instancia de la
+     *         misma clase que la estructura, y sus enteros son iguales en el
+     *         mismo orden; <code>false</code> en otro caso.
+     */
+    @Override public boolean equals(Object objeto) {
+        if (objeto == null || getClass() != objeto.getClass())
+            return false;
+        IntMeteSaca m = (IntMeteSaca)objeto;
+        if (elementos != m.elementos)
+            return false;
+        for (int i = 0; i < elementos; i++)
+            if (get(i) != m.get(i))
+                return false;
+        return true;
+    }
+}
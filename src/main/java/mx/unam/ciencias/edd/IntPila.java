@@ -0,0 +1,30 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Clase para pilas de enteros sobre un arreglo circular de ints. Tiene el
+ * mismo comportamiento que {@link Pila}, sin envolver los enteros.
+ */
+public class IntPila extends IntMeteSaca {
+
+    /**
+     * Regresa una representación en cadena de la pila.
+     * @return una representación en cadena de la pila.
+     */
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < elementos; i++)
+            sb.append(get(i)).append("\n");
+        return sb.toString();
+    }
+
+    /**
+     * Agrega un entero al tope de la pila.
+     * @param entero el entero a agregar.
+     */
+    @Override public void mete(int entero) {
+        crece();
+        inicio = (inicio - 1) & (arreglo.length - 1);
+        arreglo[inicio] = entero;
+        elementos++;
+    }
+}
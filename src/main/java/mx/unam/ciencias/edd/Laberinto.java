@@ -0,0 +1,584 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * <p>Clase para laberintos. Un laberinto es una gráfica cuyos vértices son las
+ * celdas de una cuadrícula de <i>ancho</i> por <i>alto</i>, y cuyas aristas
+ * son los pasos entre celdas adyacentes que no tienen pared.</p>
+ *
+ * <p>Las celdas se identifican con el entero <i>y</i> * <i>ancho</i> +
+ * <i>x</i>, y las paredes se guardan en un arreglo de bits, cuatro por celda
+ * (ver {@link #NORTE}, {@link #ESTE}, {@link #SUR} y {@link #OESTE}), así que
+ * un laberinto de 10<sup>7</sup> celdas ocupa unos cinco megabytes. Opcionalmente
+ * cada celda puede tener un costo de entrada entre 1 y 127, que es el peso que
+ * usa {@link #dijkstra}.</p>
+ */
+public class Laberinto {
+
+    /** Bit de la pared norte de una celda. */
+    public static final int NORTE = 1;
+    /** Bit de la pared este de una celda. */
+    public static final int ESTE = 2;
+    /** Bit de la pared sur de una celda. */
+    public static final int SUR = 4;
+    /** Bit de la pared oeste de una celda. */
+    public static final int OESTE = 8;
+
+    /* Las cuatro direcciones, en el orden de sus bits. */
+    private static final int[] DIRECCIONES = { NORTE, ESTE, SUR, OESTE };
+
+    /* El ancho de la cuadrícula. */
+    private int ancho;
+    /* El alto de la cuadrícula. */
+    private int alto;
+    /* Las paredes; dieciséis celdas por long, cuatro bits por celda. */
+    private long[] paredes;
+    /* Los costos de entrada de las celdas; null si todas cuestan 1. */
+    private byte[] costos;
+    /* Número de aristas (paredes tiradas entre celdas). */
+    private int aristas;
+
+    /**
+     * Construye un laberinto de <i>ancho</i> por <i>alto</i> celdas, con
+     * todas sus paredes.
+     * @param ancho el ancho de la cuadrícula.
+     * @param alto el alto de la cuadrícula.
+     * @throws IllegalArgumentException si el ancho o el alto son no
+     *         positivos, o si el número de celdas no cabe en un int.
+     */
+    public Laberinto(int ancho, int alto) {
+        if (ancho <= 0 || alto <= 0)
+            throw new IllegalArgumentException("dimensiones invalidas");
+        long n = (long)ancho * alto;
+        if (n > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("demasiadas celdas");
+        this.ancho = ancho;
+        this.alto = alto;
+        paredes = new long[(int)((n + 15) / 16)];
+        Arrays.fill(paredes, -1L);
+        aristas = 0;
+    }
+
+    /* Construye un laberinto a partir de sus aperturas: la celda c tiene paso
+     * a su vecina del este si aperturas[c] tiene el bit ESTE, y a su vecina
+     * del sur si tiene el bit SUR. Los generadores llenan las aperturas, una
+     * celda por byte, para que varios hilos puedan escribir celdas distintas
+     * sin pisarse; aquí se empacan en paralelo, un long a la vez. */
+    Laberinto(int ancho, int alto, byte[] aperturas) {
+        this(ancho, alto);
+        aristas = IntStream.range(0, paredes.length).parallel()
+            .map(i -> empaca(i, aperturas)).sum();
+    }
+
+    /* Calcula las paredes de las dieciséis celdas del i-ésimo long a partir
+     * de las aperturas, y regresa cuántos pasos al este o al sur abre. */
+    private int empaca(int i, byte[] aperturas) {
+        int n = getElementos();
+        int fin = (int)Math.min(n, ((long)i + 1) << 4);
+        int pasos = 0;
+        long palabra = -1L;
+        for (int celda = i << 4; celda < fin; celda++) {
+            int x = celda % ancho;
+            int p = 0xF;
+            if (x < ancho - 1 && (aperturas[celda] & ESTE) != 0) {
+                p &= ~ESTE;
+                pasos++;
+            }
+            if (celda < n - ancho && (aperturas[celda] & SUR) != 0) {
+                p &= ~SUR;
+                pasos++;
+            }
+            if (celda >= ancho && (aperturas[celda - ancho] & SUR) != 0)
+                p &= ~NORTE;
+            if (x > 0 && (aperturas[celda - 1] & ESTE) != 0)
+                p &= ~OESTE;
+            int corrimiento = (celda & 15) << 2;
+            palabra &= ~(0xFL << corrimiento);
+            palabra |= (long)p << corrimiento;
+        }
+        paredes[i] = palabra;
+        return pasos;
+    }
+
+    /**
+     * Regresa el ancho de la cuadrícula.
+     * @return el ancho de la cuadrícula.
+     */
+    public int getAncho() {
+        return ancho;
+    }
+
+    /**
+     * Regresa el alto de la cuadrícula.
+     * @return el alto de la cuadrícula.
+     */
+    public int getAlto() {
+        return alto;
+    }
+
+    /**
+     * Regresa el número de celdas del laberinto.
+     * @return el número de celdas del laberinto.
+     */
+    public int getElementos() {
+        return ancho * alto;
+    }
+
+    /**
+     * Regresa el número de aristas, es decir, de paredes tiradas entre dos
+     * celdas.
+     * @return el número de aristas.
+     */
+    public int getAristas() {
+        return aristas;
+    }
+
+    /**
+     * Regresa el índice de la celda en la columna <i>x</i> y el renglón
+     * <i>y</i>.
+     * @param x la columna.
+     * @param y el renglón.
+     * @return el índice de la celda.
+     * @throws NoSuchElementException si la celda no está en el laberinto.
+     */
+    public int celda(int x, int y) {
+        if (x < 0 || x >= ancho || y < 0 || y >= alto)
+            throw new NoSuchElementException("la celda no esta en el laberinto");
+        return y * ancho + x;
+    }
+
+    /**
+     * Regresa las paredes de una celda, como una combinación de {@link
+     * #NORTE}, {@link #ESTE}, {@link #SUR} y {@link #OESTE}.
+     * @param celda la celda.
+     * @return las paredes de la celda.
+     * @throws NoSuchElementException si la celda no está en el laberinto.
+     */
+    public int getParedes(int celda) {
+        revisa(celda);
+        return paredes(celda);
+    }
+
+    /**
+     * Nos dice si la celda tiene pared en la dirección recibida.
+     * @param celda la celda.
+     * @param direccion una de {@link #NORTE}, {@link #ESTE}, {@link #SUR} u
+     *        {@link #OESTE}.
+     * @return <code>true</code> si la celda tiene pared en esa dirección,
+     *         <code>false</code> en otro caso.
+     * @throws NoSuchElementException si la celda no está en el laberinto.
+     */
+    public boolean hayPared(int celda, int direccion) {
+        return (getParedes(celda) & direccion) != 0;
+    }
+
+    /**
+     * Regresa la celda adyacente en la dirección recibida, haya o no pared
+     * entre ellas.
+     * @param celda la celda.
+     * @param direccion una de {@link #NORTE}, {@link #ESTE}, {@link #SUR} u
+     *        {@link #OESTE}.
+     * @return la celda adyacente, o -1 si la celda está en el borde.
+     * @throws NoSuchElementException si la celda no está en el laberinto.
+     */
+    public int adyacente(int celda, int direccion) {
+        revisa(celda);
+        return mueve(celda, direccion);
+    }
+
+    /**
+     * Conecta dos celdas adyacentes, tirando la pared entre ellas.
+     * @param a la primera celda.
+     * @param b la segunda celda.
+     * @throws NoSuchElementException si a o b no están en el laberinto.
+     * @throws IllegalArgumentException si a y b no son adyacentes, o si ya
+     *         están conectadas.
+     */
+    public void conecta(int a, int b) {
+        int direccion = direccion(a, b);
+        if ((paredes(a) & direccion) == 0)
+            throw new IllegalArgumentException("las celdas ya estan conectadas");
+        cambiaPared(a, direccion);
+        cambiaPared(b, opuesta(direccion));
+        aristas++;
+    }
+
+    /**
+     * Desconecta dos celdas adyacentes, levantando la pared entre ellas.
+     * @param a la primera celda.
+     * @param b la segunda celda.
+     * @throws NoSuchElementException si a o b no están en el laberinto.
+     * @throws IllegalArgumentException si a y b no son adyacentes, o si no
+     *         están conectadas.
+     */
+    public void desconecta(int a, int b) {
+        int direccion = direccion(a, b);
+        if ((paredes(a) & direccion) != 0)
+            throw new IllegalArgumentException("las celdas no estan conectadas");
+        cambiaPared(a, direccion);
+        cambiaPared(b, opuesta(direccion));
+        aristas--;
+    }
+
+    /**
+     * Nos dice si dos celdas están conectadas.
+     * @param a la primera celda.
+     * @param b la segunda celda.
+     * @return <code>true</code> si a y b son adyacentes y no hay pared entre
+     *         ellas, <code>false</code> en otro caso.
+     * @throws NoSuchElementException si a o b no están en el laberinto.
+     */
+    public boolean sonVecinos(int a, int b) {
+        revisa(a);
+        revisa(b);
+        for (int direccion : DIRECCIONES)
+            if (mueve(a, direccion) == b)
+                return (paredes(a) & direccion) == 0;
+        return false;
+    }
+
+    /**
+     * Regresa el costo de entrar a una celda.
+     * @param celda la celda.
+     * @return el costo de entrar a la celda.
+     * @throws NoSuchElementException si la celda no está en el laberinto.
+     */
+    public int getCosto(int celda) {
+        revisa(celda);
+        return costo(celda);
+    }
+
+    /**
+     * Define el costo de entrar a una celda.
+     * @param celda la celda.
+     * @param costo el nuevo costo, entre 1 y 127.
+     * @throws NoSuchElementException si la celda no está en el laberinto.
+     * @throws IllegalArgumentException si el costo no está entre 1 y 127.
+     */
+    public void setCosto(int celda, int costo) {
+        revisa(celda);
+        if (costo < 1 || costo > Byte.MAX_VALUE)
+            throw new IllegalArgumentException("costo invalido");
+        if (costos == null) {
+            if (costo == 1)
+                return;
+            costos = new byte[getElementos()];
+            Arrays.fill(costos, (byte)1);
+        }
+        costos[celda] = (byte)costo;
+    }
+
+    /**
+     * Realiza la acción recibida en todas las celdas alcanzables desde la
+     * celda recibida, en el orden determinado por BFS.
+     * @param celda la celda donde comienza el recorrido.
+     * @param accion la acción a realizar.
+     * @throws NoSuchElementException si la celda no está en el laberinto.
+     */
+    public void bfs(int celda, AccionCeldaLaberinto accion) {
+        revisa(celda);
+        long[] visitadas = new long[(getElementos() + 63) / 64];
+        IntCola cola = new IntCola();
+        visita(visitadas, celda);
+        cola.mete(celda);
+        while (!cola.esVacia()) {
+            int actual = cola.saca();
+            accion.actua(actual);
+            int p = paredes(actual);
+            for (int direccion : DIRECCIONES) {
+                if ((p & direccion) != 0)
+                    continue;
+                int vecino = mueve(actual, direccion);
+                if (!visitada(visitadas, vecino)) {
+                    visita(visitadas, vecino);
+                    cola.mete(vecino);
+                }
+            }
+        }
+    }
+
+    /**
+     * Realiza la acción recibida en todas las celdas alcanzables desde la
+     * celda recibida, en el orden determinado por DFS.
+     * @param celda la celda donde comienza el recorrido.
+     * @param accion la acción a realizar.
+     * @throws NoSuchElementException si la celda no está en el laberinto.
+     */
+    public void dfs(int celda, AccionCeldaLaberinto accion) {
+        revisa(celda);
+        long[] visitadas = new long[(getElementos() + 63) / 64];
+        IntPila pila = new IntPila();
+        visita(visitadas, celda);
+        pila.mete(celda);
+        while (!pila.esVacia()) {
+            int actual = pila.saca();
+            accion.actua(actual);
+            int p = paredes(actual);
+            for (int direccion : DIRECCIONES) {
+                if ((p & direccion) != 0)
+                    continue;
+                int vecino = mueve(actual, direccion);
+                if (!visitada(visitadas, vecino)) {
+                    visita(visitadas, vecino);
+                    pila.mete(vecino);
+                }
+            }
+        }
+    }
+
+    /**
+     * Calcula con BFS paralelo el nivel de cada celda desde la celda
+     * recibida, en el <i>pool</i> común de <i>fork-join</i>.
+     * @param celda la celda de origen.
+     * @return el número mínimo de pasos de la celda de origen a cada celda, o
+     *         -1 para las celdas que no se alcanzan.
+     * @throws NoSuchElementException si la celda no está en el laberinto.
+     */
+    public int[] niveles(int celda) {
+        return niveles(celda, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calcula con BFS paralelo el nivel de cada celda desde la celda
+     * recibida. Cada nivel expande su frontera completa en paralelo, así que
+     * conviene en laberintos con fronteras anchas; en laberintos perfectos
+     * las fronteras suelen ser angostas y {@link #bfs} puede ser igual de
+     * rápido.
+     * @param celda la celda de origen.
+     * @param pool el <i>pool</i> donde se expanden las fronteras.
+     * @return el número mínimo de pasos de la celda de origen a cada celda, o
+     *         -1 para las celdas que no se alcanzan.
+     * @throws NoSuchElementException si la celda no está en el laberinto.
+     */
+    public int[] niveles(int celda, ForkJoinPool pool) {
+        revisa(celda);
+        return RecorridoParalelo.niveles(getElementos(), celda,
+                                         new RecorridoParalelo.Adyacencias() {
+            @Override public int grado(int vertice) {
+                return DIRECCIONES.length;
+            }
+            @Override public int vecino(int vertice, int i) {
+                return ((paredes(vertice) & DIRECCIONES[i]) != 0) ? -1 :
+                    mueve(vertice, DIRECCIONES[i]);
+            }
+        }, pool);
+    }
+
+    /**
+     * Regresa las componentes conexas del laberinto, como conjuntos disjuntos
+     * de celdas: dos celdas están conectadas si y sólo si están en el mismo
+     * conjunto. Los conjuntos se construyen en una sola pasada por los pasos
+     * al este y al sur, y no cambian si después se modifica el laberinto.
+     * @return las componentes conexas del laberinto.
+     */
+    public ConjuntosDisjuntos componentes() {
+        ConjuntosDisjuntos componentes = new ConjuntosDisjuntos(getElementos());
+        for (int celda = 0; celda < getElementos(); celda++) {
+            int p = paredes(celda);
+            if ((p & ESTE) == 0)
+                componentes.une(celda, celda + 1);
+            if ((p & SUR) == 0)
+                componentes.une(celda, celda + ancho);
+        }
+        return componentes;
+    }
+
+    /**
+     * Calcula una trayectoria con el mínimo número de pasos entre dos celdas.
+     * El recorrido se detiene en cuanto llega al destino.
+     * @param origen la celda de origen.
+     * @param destino la celda de destino.
+     * @return las celdas de la trayectoria, de <code>origen</code> a
+     *         <code>destino</code>; si no hay trayectoria, un arreglo vacío.
+     * @throws NoSuchElementException si alguna de las celdas no está en el
+     *         laberinto.
+     */
+    public int[] trayectoriaMinima(int origen, int destino) {
+        revisa(origen);
+        revisa(destino);
+        /* De qué dirección llegamos a cada celda; 0 si no la hemos visto. */
+        byte[] llegadas = new byte[getElementos()];
+        IntCola cola = new IntCola();
+        llegadas[origen] = -1;
+        cola.mete(origen);
+        while (!cola.esVacia()) {
+            int actual = cola.saca();
+            if (actual == destino)
+                return trayectoria(llegadas, origen, destino);
+            int p = paredes(actual);
+            for (int direccion : DIRECCIONES) {
+                if ((p & direccion) != 0)
+                    continue;
+                int vecino = mueve(actual, direccion);
+                if (llegadas[vecino] == 0) {
+                    llegadas[vecino] = (byte)direccion;
+                    cola.mete(vecino);
+                }
+            }
+        }
+        return new int[0];
+    }
+
+    /**
+     * Calcula la trayectoria de costo mínimo entre dos celdas, donde el costo
+     * de una trayectoria es la suma de los costos de las celdas a las que
+     * entra. El algoritmo se detiene en cuanto fija la distancia del destino.
+     * @param origen la celda de origen.
+     * @param destino la celda de destino.
+     * @return las celdas de la trayectoria, de <code>origen</code> a
+     *         <code>destino</code>; si no hay trayectoria, un arreglo vacío.
+     * @throws NoSuchElementException si alguna de las celdas no está en el
+     *         laberinto.
+     */
+    public int[] dijkstra(int origen, int destino) {
+        revisa(origen);
+        revisa(destino);
+        if (costos == null)
+            return trayectoriaMinima(origen, destino);
+        double[] distancias = new double[getElementos()];
+        byte[] llegadas = new byte[getElementos()];
+        Arrays.fill(distancias, Double.MAX_VALUE);
+        MonticuloIndexado monticulo = new MonticuloIndexado(distancias);
+        distancias[origen] = 0;
+        llegadas[origen] = -1;
+        monticulo.agregaOReordena(origen);
+        while (!monticulo.esVacia()) {
+            int actual = monticulo.elimina();
+            if (actual == destino)
+                return trayectoria(llegadas, origen, destino);
+            int p = paredes(actual);
+            for (int direccion : DIRECCIONES) {
+                if ((p & direccion) != 0)
+                    continue;
+                int vecino = mueve(actual, direccion);
+                double distancia = distancias[actual] + costos[vecino];
+                if (distancia < distancias[vecino]) {
+                    distancias[vecino] = distancia;
+                    llegadas[vecino] = (byte)direccion;
+                    monticulo.agregaOReordena(vecino);
+                }
+            }
+        }
+        return new int[0];
+    }
+
+    /**
+     * Regresa una representación en cadena del laberinto, dibujado con
+     * caracteres.
+     * @return una representación en cadena del laberinto.
+     */
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int x = 0; x < ancho; x++)
+            sb.append("+--");
+        sb.append("+\n");
+        for (int y = 0; y < alto; y++) {
+            StringBuilder abajo = new StringBuilder("+");
+            sb.append('|');
+            for (int x = 0; x < ancho; x++) {
+                int p = paredes(y * ancho + x);
+                sb.append("  ").append((p & ESTE) != 0 ? '|' : ' ');
+                abajo.append((p & SUR) != 0 ? "--" : "  ").append('+');
+            }
+            sb.append('\n').append(abajo).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Nos dice si el laberinto es igual al objeto recibido.
+     * @param objeto el objeto con el que hay que comparar.
+     * @return <code>true</code> si el objeto es un laberinto con las mismas
+     *         dimensiones, paredes y costos; <code>false</code> en otro caso.
+     */
+    @Override public boolean equals(Object objeto) {
+        if (objeto == null || getClass() != objeto.getClass())
+            return false;
+        Laberinto laberinto = (Laberinto)objeto;
+        if (ancho != laberinto.ancho || alto != laberinto.alto ||
+            aristas != laberinto.aristas)
+            return false;
+        for (int i = 0; i < getElementos(); i++)
+            if (paredes(i) != laberinto.paredes(i) ||
+                costo(i) != laberinto.costo(i))
+                return false;
+        return true;
+    }
+
+    /* Revisa que la celda esté en el laberinto. */
+    private void revisa(int celda) {
+        if (celda < 0 || celda >= getElementos())
+            throw new NoSuchElementException("la celda no esta en el laberinto");
+    }
+
+    /* Regresa las paredes de una celda, sin revisarla. */
+    private int paredes(int celda) {
+        return (int)(paredes[celda >>> 4] >>> ((celda & 15) << 2)) & 0xF;
+    }
+
+    /* Invierte una pared de una celda. */
+    private void cambiaPared(int celda, int direccion) {
+        paredes[celda >>> 4] ^= (long)direccion << ((celda & 15) << 2);
+    }
+
+    /* Regresa el costo de una celda, sin revisarla. */
+    private int costo(int celda) {
+        return (costos == null) ? 1 : costos[celda];
+    }
+
+    /* Regresa la celda adyacente en una dirección, o -1 si no hay. */
+    private int mueve(int celda, int direccion) {
+        switch (direccion) {
+        case NORTE: return (celda >= ancho) ? celda - ancho : -1;
+        case ESTE:  return (celda % ancho != ancho - 1) ? celda + 1 : -1;
+        case SUR:   return (celda < getElementos() - ancho) ? celda + ancho : -1;
+        case OESTE: return (celda % ancho != 0) ? celda - 1 : -1;
+        default: throw new IllegalArgumentException("direccion invalida");
+        }
+    }
+
+    /* Regresa la dirección opuesta. */
+    private static int opuesta(int direccion) {
+        return ((direccion << 2) | (direccion >>> 2)) & 0xF;
+    }
+
+    /* Regresa la dirección en la que b es adyacente a a. */
+    private int direccion(int a, int b) {
+        revisa(a);
+        revisa(b);
+        for (int direccion : DIRECCIONES)
+            if (mueve(a, direccion) == b)
+                return direccion;
+        throw new IllegalArgumentException("las celdas no son adyacentes");
+    }
+
+    /* Nos dice si una celda está marcada como visitada. */
+    private static boolean visitada(long[] visitadas, int celda) {
+        return (visitadas[celda >>> 6] & (1L << celda)) != 0;
+    }
+
+    /* Marca una celda como visitada. */
+    private static void visita(long[] visitadas, int celda) {
+        visitadas[celda >>> 6] |= 1L << celda;
+    }
+
+    /* Reconstruye la trayectoria caminando hacia atrás por las direcciones
+     * de llegada. */
+    private int[] trayectoria(byte[] llegadas, int origen, int destino) {
+        int longitud = 1;
+        for (int c = destino; c != origen; c = mueve(c, opuesta(llegadas[c])))
+            longitud++;
+        int[] trayectoria = new int[longitud];
+        int c = destino;
+        for (int i = longitud - 1; i > 0; i--) {
+            trayectoria[i] = c;
+            c = mueve(c, opuesta(llegadas[c]));
+        }
+        trayectoria[0] = origen;
+        return trayectoria;
+    }
+}
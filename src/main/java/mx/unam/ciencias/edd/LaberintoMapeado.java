@@ -0,0 +1,361 @@
+package mx.unam.ciencias.edd;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para laberintos de sólo lectura guardados en archivos con el
+ * formato de {@link EscritorLaberinto}. El archivo se mapea a memoria en
+ * lugar de leerse, así que abrir un laberinto de varios gigabytes toma
+ * milisegundos, y el sistema operativo trae las páginas del archivo conforme
+ * se consultan las celdas.</p>
+ *
+ * <p>Las celdas se identifican con el long <i>y</i> * <i>ancho</i> +
+ * <i>x</i>, así que el laberinto puede tener más celdas de las que caben en
+ * un int. Como un {@link MappedByteBuffer} no puede pasar de 2<sup>31</sup>-1
+ * bytes, los archivos grandes se mapean en bloques de renglones
+ * completos.</p>
+ */
+public class LaberintoMapeado {
+
+    /* Tamaño máximo de un bloque mapeado, en bytes. */
+    private static final long BLOQUE = 1L << 30;
+
+    /* El ancho de la cuadrícula. */
+    private int ancho;
+    /* El alto de la cuadrícula. */
+    private long alto;
+    /* La semilla del laberinto. */
+    private long semilla;
+    /* Los bits por celda. */
+    private int bits;
+    /* Los bytes que ocupa cada renglón. */
+    private int bytesPorRenglon;
+    /* Los renglones en cada bloque. */
+    private long renglonesPorBloque;
+    /* Los bloques mapeados. */
+    private MappedByteBuffer[] bloques;
+
+    /**
+     * Abre un laberinto guardado en un archivo. Sólo se lee el encabezado;
+     * las celdas se leen conforme se consultan.
+     * @param archivo el archivo del laberinto.
+     * @throws IOException si ocurre un error al abrir el archivo, si no es un
+     *         laberinto, o si está truncado.
+     */
+    public LaberintoMapeado(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            ByteBuffer encabezado = ByteBuffer.allocate(EscritorLaberinto.ENCABEZADO);
+            while (encabezado.hasRemaining())
+                if (canal.read(encabezado, encabezado.position()) < 0)
+                    throw new IOException("el archivo no es un laberinto");
+            encabezado.flip();
+            if (encabezado.getInt() != EscritorLaberinto.MAGIA)
+                throw new IOException("el archivo no es un laberinto");
+            if (encabezado.getInt() != EscritorLaberinto.VERSION)
+                throw new IOException("version de laberinto no soportada");
+            bits = encabezado.getInt();
+            ancho = encabezado.getInt();
+            alto = encabezado.getLong();
+            semilla = encabezado.getLong();
+            if (ancho <= 0 || alto <= 0 || (bits != 2 && bits != 4))
+                throw new IOException("encabezado invalido");
+
+            bytesPorRenglon = EscritorLaberinto.bytesPorRenglon(ancho, bits);
+            if ((canal.size() - EscritorLaberinto.ENCABEZADO) / bytesPorRenglon < alto)
+                throw new IOException("el archivo esta truncado");
+            renglonesPorBloque = Math.max(1, Math.min(alto, BLOQUE / bytesPorRenglon));
+            bloques = new MappedByteBuffer[(int)((alto + renglonesPorBloque - 1) /
+                                                 renglonesPorBloque)];
+            for (int i = 0; i < bloques.length; i++) {
+                long primero = i * renglonesPorBloque;
+                long renglones = Math.min(renglonesPorBloque, alto - primero);
+                bloques[i] = canal.map(FileChannel.MapMode.READ_ONLY,
+                                       EscritorLaberinto.ENCABEZADO +
+                                       primero * bytesPorRenglon,
+                                       renglones * bytesPorRenglon);
+            }
+        }
+    }
+
+    /**
+     * Guarda un laberinto en un archivo, con el formato de {@link
+     * EscritorLaberinto}.
+     * @param laberinto el laberinto a guardar.
+     * @param semilla la semilla con la que se generó el laberinto.
+     * @param bits los bits por celda, dos o cuatro.
+     * @param archivo el archivo donde se guarda; si existe, se sobrescribe.
+     * @throws IOException si ocurre un error al escribir.
+     * @throws IllegalArgumentException si los bits por celda no son dos ni
+     *         cuatro.
+     */
+    public static void guarda(Laberinto laberinto, long semilla, int bits,
+                              Path archivo) throws IOException {
+        int ancho = laberinto.getAncho();
+        int alto = laberinto.getAlto();
+        ByteBuffer encabezado = EscritorLaberinto.encabezado(ancho, alto, semilla, bits);
+        int bytes = EscritorLaberinto.bytesPorRenglon(ancho, bits);
+        byte[] aperturas = new byte[ancho];
+        byte[] anterior = new byte[ancho];
+        byte[] renglon = new byte[bytes];
+        ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(bytes, 1 << 20));
+
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                                                  StandardOpenOption.WRITE,
+                                                  StandardOpenOption.TRUNCATE_EXISTING)) {
+            escribe(canal, encabezado);
+            for (int y = 0; y < alto; y++) {
+                for (int x = 0; x < ancho; x++)
+                    aperturas[x] = (byte)(~laberinto.getParedes(y * ancho + x) &
+                                          (Laberinto.ESTE | Laberinto.SUR));
+                EscritorLaberinto.empaca(aperturas, anterior, renglon, ancho, bits,
+                                        y == alto - 1);
+                if (buffer.remaining() < bytes) {
+                    buffer.flip();
+                    escribe(canal, buffer);
+                    buffer.clear();
+                }
+                buffer.put(renglon);
+                byte[] t = anterior;
+                anterior = aperturas;
+                aperturas = t;
+            }
+            buffer.flip();
+            escribe(canal, buffer);
+        }
+    }
+
+    /* Escribe todo el buffer en el canal. */
+    private static void escribe(FileChannel canal, ByteBuffer buffer)
+        throws IOException {
+        while (buffer.hasRemaining())
+            canal.write(buffer);
+    }
+
+    /**
+     * Regresa el ancho de la cuadrícula.
+     * @return el ancho de la cuadrícula.
+     */
+    public int getAncho() {
+        return ancho;
+    }
+
+    /**
+     * Regresa el alto de la cuadrícula.
+     * @return el alto de la cuadrícula.
+     */
+    public long getAlto() {
+        return alto;
+    }
+
+    /**
+     * Regresa el número de celdas del laberinto.
+     * @return el número de celdas del laberinto.
+     */
+    public long getElementos() {
+        return ancho * alto;
+    }
+
+    /**
+     * Regresa la semilla con la que se generó el laberinto.
+     * @return la semilla del laberinto.
+     */
+    public long getSemilla() {
+        return semilla;
+    }
+
+    /**
+     * Regresa los bits por celda del archivo, dos o cuatro.
+     * @return los bits por celda.
+     */
+    public int getBitsPorCelda() {
+        return bits;
+    }
+
+    /**
+     * Regresa el índice de la celda en la columna <i>x</i> y el renglón
+     * <i>y</i>.
+     * @param x la columna.
+     * @param y el renglón.
+     * @return el índice de la celda.
+     * @throws NoSuchElementException si la celda no está en el laberinto.
+     */
+    public long celda(int x, long y) {
+        if (x < 0 || x >= ancho || y < 0 || y >= alto)
+            throw new NoSuchElementException("la celda no esta en el laberinto");
+        return y * ancho + x;
+    }
+
+    /**
+     * Regresa las paredes de una celda, como una combinación de {@link
+     * Laberinto#NORTE}, {@link Laberinto#ESTE}, {@link Laberinto#SUR} y
+     * {@link Laberinto#OESTE}.
+     * @param celda la celda.
+     * @return las paredes de la celda.
+     * @throws NoSuchElementException si la celda no está en el laberinto.
+     */
+    public int getParedes(long celda) {
+        revisa(celda);
+        return paredes(celda);
+    }
+
+    /**
+     * Nos dice si la celda tiene pared en la dirección recibida.
+     * @param celda la celda.
+     * @param direccion una de {@link Laberinto#NORTE}, {@link Laberinto#ESTE},
+     *        {@link Laberinto#SUR} u {@link Laberinto#OESTE}.
+     * @return <code>true</code> si la celda tiene pared en esa dirección,
+     *         <code>false</code> en otro caso.
+     * @throws NoSuchElementException si la celda no está en el laberinto.
+     */
+    public boolean hayPared(long celda, int direccion) {
+        return (getParedes(celda) & direccion) != 0;
+    }
+
+    /**
+     * Regresa la celda adyacente en la dirección recibida, haya o no pared
+     * entre ellas.
+     * @param celda la celda.
+     * @param direccion una de {@link Laberinto#NORTE}, {@link Laberinto#ESTE},
+     *        {@link Laberinto#SUR} u {@link Laberinto#OESTE}.
+     * @return la celda adyacente, o -1 si la celda está en el borde.
+     * @throws NoSuchElementException si la celda no está en el laberinto.
+     */
+    public long adyacente(long celda, int direccion) {
+        revisa(celda);
+        return mueve(celda, direccion);
+    }
+
+    /**
+     * Calcula una trayectoria con el mínimo número de pasos entre dos celdas,
+     * con BFS. Sólo se leen del archivo las celdas que el recorrido alcanza,
+     * y el recorrido se detiene en cuanto llega al destino. El estado del
+     * recorrido ocupa unos cinco bytes por celda, así que el laberinto debe
+     * tener a lo más {@link Integer#MAX_VALUE} celdas; para laberintos más
+     * grandes ver {@link SolucionadorFlujo}.
+     * @param origen la celda de origen.
+     * @param destino la celda de destino.
+     * @return las celdas de la trayectoria, de <code>origen</code> a
+     *         <code>destino</code>; si no hay trayectoria, un arreglo vacío.
+     * @throws NoSuchElementException si alguna de las celdas no está en el
+     *         laberinto.
+     * @throws IllegalStateException si el laberinto tiene más de {@link
+     *         Integer#MAX_VALUE} celdas.
+     */
+    public long[] trayectoriaMinima(long origen, long destino) {
+        revisa(origen);
+        revisa(destino);
+        if (getElementos() > Integer.MAX_VALUE)
+            throw new IllegalStateException("demasiadas celdas para BFS");
+        int n = (int)getElementos();
+        /* De qué dirección llegamos a cada celda; 0 si no la hemos visto. */
+        byte[] llegadas = new byte[n];
+        IntCola cola = new IntCola();
+        llegadas[(int)origen] = -1;
+        cola.mete((int)origen);
+        while (!cola.esVacia()) {
+            int actual = cola.saca();
+            if (actual == destino)
+                return trayectoria(llegadas, origen, destino);
+            int p = paredes(actual);
+            for (int direccion = Laberinto.NORTE; direccion <= Laberinto.OESTE;
+                 direccion <<= 1) {
+                if ((p & direccion) != 0)
+                    continue;
+                int vecino = (int)mueve(actual, direccion);
+                if (llegadas[vecino] == 0) {
+                    llegadas[vecino] = (byte)direccion;
+                    cola.mete(vecino);
+                }
+            }
+        }
+        return new long[0];
+    }
+
+    /* Revisa que la celda esté en el laberinto. */
+    private void revisa(long celda) {
+        if (celda < 0 || celda >= getElementos())
+            throw new NoSuchElementException("la celda no esta en el laberinto");
+    }
+
+    /* Regresa las paredes de una celda, sin revisarla. Las paredes del
+     * borde siempre están, aunque el archivo diga otra cosa. */
+    private int paredes(long celda) {
+        long y = celda / ancho;
+        int x = (int)(celda - y * ancho);
+        if (bits == 4) {
+            int p = (octeto(y, x >>> 1) >>> ((x & 1) << 2)) & 0xF;
+            if (y == 0)
+                p |= Laberinto.NORTE;
+            if (x == ancho - 1)
+                p |= Laberinto.ESTE;
+            if (y == alto - 1)
+                p |= Laberinto.SUR;
+            if (x == 0)
+                p |= Laberinto.OESTE;
+            return p;
+        }
+        int p = 0xF & ~pasos(y, x);
+        if (y > 0 && (pasos(y - 1, x) & Laberinto.SUR) != 0)
+            p &= ~Laberinto.NORTE;
+        if (x > 0 && (pasos(y, x - 1) & Laberinto.ESTE) != 0)
+            p &= ~Laberinto.OESTE;
+        return p;
+    }
+
+    /* Regresa los pasos al este y al sur de una celda con dos bits, sin
+     * salirse del laberinto. */
+    private int pasos(long y, int x) {
+        int b = octeto(y, x >>> 2) >>> ((x & 3) << 1);
+        int p = 0;
+        if ((b & 1) != 0 && x < ancho - 1)
+            p |= Laberinto.ESTE;
+        if ((b & 2) != 0 && y < alto - 1)
+            p |= Laberinto.SUR;
+        return p;
+    }
+
+    /* Regresa el byte en la posición recibida del renglón y. */
+    private int octeto(long y, int posicion) {
+        int bloque = (int)(y / renglonesPorBloque);
+        int inicio = (int)(y - bloque * renglonesPorBloque) * bytesPorRenglon;
+        return bloques[bloque].get(inicio + posicion);
+    }
+
+    /* Regresa la celda adyacente en una dirección, o -1 si no hay. */
+    private long mueve(long celda, int direccion) {
+        switch (direccion) {
+        case Laberinto.NORTE: return (celda >= ancho) ? celda - ancho : -1;
+        case Laberinto.ESTE:  return (celda % ancho != ancho - 1) ? celda + 1 : -1;
+        case Laberinto.SUR:   return (celda < getElementos() - ancho) ? celda + ancho : -1;
+        case Laberinto.OESTE: return (celda % ancho != 0) ? celda - 1 : -1;
+        default: throw new IllegalArgumentException("direccion invalida");
+        }
+    }
+
+    /* Regresa la dirección opuesta. */
+    private static int opuesta(int direccion) {
+        return ((direccion << 2) | (direccion >>> 2)) & 0xF;
+    }
+
+    /* Reconstruye la trayectoria caminando hacia atrás por las direcciones
+     * de llegada. */
+    private long[] trayectoria(byte[] llegadas, long origen, long destino) {
+        int longitud = 1;
+        for (long c = destino; c != origen; c = mueve(c, opuesta(llegadas[(int)c])))
+            longitud++;
+        long[] trayectoria = new long[longitud];
+        long c = destino;
+        for (int i = longitud - 1; i > 0; i--) {
+            trayectoria[i] = c;
+            c = mueve(c, opuesta(llegadas[(int)c]));
+        }
+        trayectoria[0] = origen;
+        return trayectoria;
+    }
+}
@@ -0,0 +1,119 @@
+package mx.unam.ciencias.edd;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.NoSuchElementException;
+
+/**
+ * Clase para leer renglón por renglón laberintos escritos por {@link
+ * EscritorLaberinto}, con dos o cuatro bits por celda. El lector sólo guarda
+ * un renglón a la vez, así que puede leer laberintos que no caben en memoria,
+ * o ir leyendo un laberinto mientras otro hilo o proceso lo genera.
+ */
+public class LectorLaberinto {
+
+    /* El flujo de entrada. */
+    private DataInputStream entrada;
+    /* El ancho del laberinto. */
+    private int ancho;
+    /* El alto del laberinto. */
+    private long alto;
+    /* La semilla del laberinto. */
+    private long semilla;
+    /* Los bits por celda. */
+    private int bits;
+    /* Los renglones leídos. */
+    private long renglones;
+    /* El renglón empacado. */
+    private byte[] renglon;
+
+    /**
+     * Crea un lector y lee el encabezado del flujo.
+     * @param entrada el flujo de entrada.
+     * @throws IOException si ocurre un error al leer, o si el flujo no
+     *         empieza con un encabezado de laberinto válido.
+     */
+    public LectorLaberinto(InputStream entrada) throws IOException {
+        this.entrada = new DataInputStream(new BufferedInputStream(entrada));
+        if (this.entrada.readInt() != EscritorLaberinto.MAGIA)
+            throw new IOException("el flujo no es un laberinto");
+        if (this.entrada.readInt() != EscritorLaberinto.VERSION)
+            throw new IOException("version de laberinto no soportada");
+        bits = this.entrada.readInt();
+        ancho = this.entrada.readInt();
+        alto = this.entrada.readLong();
+        semilla = this.entrada.readLong();
+        if (ancho <= 0 || alto <= 0 || (bits != 2 && bits != 4))
+            throw new IOException("encabezado invalido");
+        renglon = new byte[EscritorLaberinto.bytesPorRenglon(ancho, bits)];
+    }
+
+    /**
+     * Regresa el ancho del laberinto.
+     * @return el ancho del laberinto.
+     */
+    public int getAncho() {
+        return ancho;
+    }
+
+    /**
+     * Regresa el alto del laberinto.
+     * @return el alto del laberinto.
+     */
+    public long getAlto() {
+        return alto;
+    }
+
+    /**
+     * Regresa la semilla con la que se generó el laberinto.
+     * @return la semilla del laberinto.
+     */
+    public long getSemilla() {
+        return semilla;
+    }
+
+    /**
+     * Regresa los bits por celda del formato, dos o cuatro.
+     * @return los bits por celda.
+     */
+    public int getBitsPorCelda() {
+        return bits;
+    }
+
+    /**
+     * Regresa el número de renglones leídos.
+     * @return el número de renglones leídos.
+     */
+    public long getRenglones() {
+        return renglones;
+    }
+
+    /**
+     * Nos dice si quedan renglones por leer.
+     * @return <code>true</code> si quedan renglones por leer,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean hayRenglon() {
+        return renglones < alto;
+    }
+
+    /**
+     * Lee el siguiente renglón del laberinto.
+     * @param aperturas donde se escriben las aperturas de las celdas del
+     *        renglón: {@link Laberinto#ESTE} si la celda tiene paso al este, y
+     *        {@link Laberinto#SUR} si tiene paso al sur; debe tener al menos
+     *        {@link #getAncho} elementos.
+     * @throws IOException si ocurre un error al leer, o si el flujo se acaba
+     *         antes del renglón.
+     * @throws NoSuchElementException si ya se leyeron todos los renglones.
+     */
+    public void lee(byte[] aperturas) throws IOException {
+        if (renglones == alto)
+            throw new NoSuchElementException("ya se leyeron todos los renglones");
+        entrada.readFully(renglon);
+        EscritorLaberinto.desempaca(renglon, aperturas, ancho, bits);
+        renglones++;
+    }
+}
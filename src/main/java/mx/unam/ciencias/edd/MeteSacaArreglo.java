@@ -0,0 +1,124 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase abstracta para estructuras lineales restringidas a operaciones
+ * mete/saca/mira, sobre un arreglo circular en lugar de nodos.</p>
+ *
+ * <p>Los elementos ocupan posiciones consecutivas del arreglo, módulo su
+ * longitud, y la cabeza de la estructura es la primera de ellas; {@link
+ * #saca} y {@link #mira} trabajan siempre en la cabeza, y las clases
+ * concretas deciden de qué lado mete cada elemento. Cuando el arreglo se
+ * llena se duplica, así que meter <i>n</i> elementos crea
+ * <i>O</i>(log <i>n</i>) arreglos en lugar de <i>n</i> nodos. Los nodos
+ * heredados de {@link MeteSaca} no se usan.</p>
+ */
+public abstract class MeteSacaArreglo<T> extends MeteSaca<T> {
+
+    /* Capacidad inicial del arreglo; debe ser potencia de dos. */
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    /** El arreglo de los elementos; su longitud es potencia de dos. */
+    protected T[] arreglo;
+    /** La posición de la cabeza en el arreglo. */
+    protected int inicio;
+    /** El número de elementos en la estructura. */
+    protected int elementos;
+
+    /**
+     * Construye una estructura vacía.
+     */
+    @SuppressWarnings("unchecked") public MeteSacaArreglo() {
+        arreglo = (T[])new Object[CAPACIDAD_INICIAL];
+    }
+
+    /**
+     * Elimina el elemento en la cabeza de la estructura y lo regresa.
+     * @return el elemento en la cabeza de la estructura.
+     * @throws NoSuchElementException si la estructura está vacía.
+     */
+    @Override public T saca() {
+        if (elementos == 0)
+            throw new NoSuchElementException("la estructura es vacia");
+        T regreso = arreglo[inicio];
+        arreglo[inicio] = null;
+        inicio = (inicio + 1) & (arreglo.length - 1);
+        elementos--;
+        return regreso;
+    }
+
+    /**
+     * Nos permite ver el elemento en la cabeza de la estructura, sin sacarlo
+     * de la misma.
+     * @return el elemento en la cabeza de la estructura.
+     * @throws NoSuchElementException si la estructura está vacía.
+     */
+    @Override public T mira() {
+        if (elementos == 0)
+            throw new NoSuchElementException("la estructura es vacia");
+        return arreglo[inicio];
+    }
+
+    /**
+     * Nos dice si la estructura está vacía.
+     * @return <code>true</code> si la estructura no tiene elementos,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Regresa el número de elementos en la estructura.
+     * @return el número de elementos en la estructura.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Regresa el <i>i</i>-ésimo elemento a partir de la cabeza, sin
+     * revisarlo.
+     * @param i la distancia a la cabeza; debe estar entre 0 y el número de
+     *        elementos menos uno.
+     * @return el <i>i</i>-ésimo elemento a partir de la cabeza.
+     */
+    protected T get(int i) {
+        return arreglo[(inicio + i) & (arreglo.length - 1)];
+    }
+
+    /**
+     * Duplica el arreglo si está lleno, dejando la cabeza en la posición 0.
+     */
+    @SuppressWarnings("unchecked") protected void crece() {
+        if (elementos < arreglo.length)
+            return;
+        T[] nuevo = (T[])new Object[2 * arreglo.length];
+        int primera = arreglo.length - inicio;
+        System.arraycopy(arreglo, inicio, nuevo, 0, primera);
+        System.arraycopy(arreglo, 0, nuevo, primera, inicio);
+        arreglo = nuevo;
+        inicio = 0;
+    }
+
+    /**
+     * Compara la estructura con un objeto.
+     * @param objeto el objeto con el que queremos comparar la estructura.
+     * @return <code>true</code> si el objeto recibido es una instancia de la
+     *         misma clase que la estructura, y sus elementos son iguales en el
+     *         mismo orden; <code>false</code> en otro caso.
+     */
+    @Override public boolean equals(Object objeto) {
+        if (objeto == null || getClass() != objeto.getClass())
+            return false;
+        @SuppressWarnings("unchecked")
+        MeteSacaArreglo<T> m = (MeteSacaArreglo<T>)objeto;
+        if (elementos != m.elementos)
+            return false;
+        for (int i = 0; i < elementos; i++)
+            if (!get(i).equals(m.get(i)))
+                return false;
+        return true;
+    }
+}
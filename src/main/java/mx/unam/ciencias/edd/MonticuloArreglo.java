@@ -1,9 +1,15 @@
 package mx.unam.ciencias.edd;
 
+import java.util.Arrays;
 import java.util.NoSuchElementException;
 
 /**
- * Clase para montículos de Dijkstra con arreglos.
+ * <p>Clase para montículos de Dijkstra con arreglos.</p>
+ *
+ * <p>Los elementos ocupan las primeras posiciones del arreglo, sin huecos, y
+ * el índice de cada uno es su posición. Reordenar no hace nada; eliminar el
+ * mínimo lo busca entre los elementos que quedan, así que cada eliminación
+ * es más barata que la anterior.</p>
  */
 public class MonticuloArreglo<T extends ComparableIndexable<T>>
     implements MonticuloDijkstra<T> {
@@ -39,7 +45,18 @@ public class MonticuloArreglo<T extends ComparableIndexable<T>>
     public MonticuloArreglo(Iterable<T> iterable, int n) {
         arreglo = nuevoArreglo(n);
         elementos = 0;
+        agregaTodos(iterable);
+    }
+
+    /**
+     * Agrega todos los elementos del iterable al final del arreglo, que
+     * crece si hace falta; cada uno toma tiempo constante amortizado.
+     * @param iterable los elementos a agregar.
+     */
+    @Override public void agregaTodos(Iterable<T> iterable) {
         for (T elemento : iterable) {
+            if (elementos == arreglo.length)
+                arreglo = Arrays.copyOf(arreglo, Math.max(2 * elementos, 1));
             arreglo[elementos] = elemento;
             elemento.setIndice(elementos);
             elementos++;
@@ -47,27 +64,28 @@ public class MonticuloArreglo<T extends ComparableIndexable<T>>
     }
 
     /**
-     * Elimina el elemento mínimo del montículo.
+     * Elimina el elemento mínimo del montículo. Recorre sólo los elementos
+     * que quedan, que ocupan las primeras posiciones del arreglo; el último
+     * de ellos pasa al lugar del mínimo.
      * @return el elemento mínimo del montículo.
      * @throws IllegalStateException si el montículo es vacío.
      */
     @Override public T elimina() {
-        if(elementos == 0)
-            throw new IllegalStateException("el motioculo esta vacio");
-        T min = null;
-        for(T elemento : arreglo){
-            if(min == null && elemento != null)
-                min = elemento;
-            else if(elemento != null && elemento.compareTo(min)<=0)
-                min = elemento;
-        }
-        
-        int i = min.getIndice();
-        min.setIndice(-1);
-        arreglo[i] = null;
+        if (elementos == 0)
+            throw new IllegalStateException("el monticulo esta vacio");
+        int m = 0;
+        for (int i = 1; i < elementos; i++)
+            if (arreglo[i].compareTo(arreglo[m]) < 0)
+                m = i;
+        T minimo = arreglo[m];
+        minimo.setIndice(-1);
         elementos--;
-
-        return min;
+        if (m != elementos) {
+            arreglo[m] = arreglo[elementos];
+            arreglo[m].setIndice(m);
+        }
+        arreglo[elementos] = null;
+        return minimo;
     }
 
     /**
@@ -78,9 +96,8 @@ public class MonticuloArreglo<T extends ComparableIndexable<T>>
      *         que el número de elementos.
      */
     @Override public T get(int i) {
-        if(i < 0 || i >= elementos)
-            throw new NoSuchElementException("No se puede hacer esto");
-        
+        if (i < 0 || i >= elementos)
+            throw new NoSuchElementException("el valor se sale del arreglo");
         return arreglo[i];
     }
 
@@ -0,0 +1,282 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase abstracta para montículos mínimos indexados guardados como árboles
+ * <i>d</i>-arios completos en un arreglo: los hijos del vértice en la
+ * posición <i>i</i> están en las posiciones <i>d i</i>&nbsp;+&nbsp;1 a
+ * <i>d i</i>&nbsp;+&nbsp;<i>d</i>. {@link MonticuloMinimo} es el caso
+ * binario y {@link MonticuloDArio} el de aridad arbitraria.</p>
+ *
+ * <p>Los acomodos son iterativos y usan un hueco: el elemento que se mueve se
+ * guarda aparte, se recorren hacia él los elementos que hay que desplazar, y
+ * al final se escribe una sola vez en su lugar, así que cada nivel cuesta una
+ * escritura y un {@link ComparableIndexable#setIndice} en lugar de un
+ * intercambio y dos.</p>
+ */
+abstract class MonticuloCompleto<T extends ComparableIndexable<T>>
+    implements MonticuloDijkstra<T>, ContadorAcomodos {
+
+    /** La aridad del montículo. */
+    protected int d;
+    /** El número de elementos en el arreglo. */
+    protected int elementos;
+    /** El árbol, por niveles. */
+    protected T[] arbol;
+    /** El número de acomodos; ver {@link ContadorAcomodos}. */
+    protected long acomodos;
+
+    /* Truco para crear arreglos genéricos. Es necesario hacerlo así por cómo
+       Java implementa sus genéricos; de otra forma obtenemos advertencias del
+       compilador. */
+    @SuppressWarnings("unchecked") private T[] nuevoArreglo(int n) {
+        return (T[])(new ComparableIndexable[n]);
+    }
+
+    /**
+     * Constructor para montículo a partir de un iterable, el número de
+     * elementos en el mismo, y la aridad. El montículo se construye en tiempo
+     * <i>O</i>(<i>n</i>).
+     * @param iterable el iterable a partir de la cuál queremos construir el
+     *                 montículo.
+     * @param n el número de elementos en el iterable.
+     * @param d la aridad del montículo.
+     * @throws IllegalArgumentException si la aridad es menor que dos.
+     */
+    protected MonticuloCompleto(Iterable<T> iterable, int n, int d) {
+        if (d < 2)
+            throw new IllegalArgumentException("la aridad debe ser al menos 2");
+        this.d = d;
+        arbol = nuevoArreglo(Math.max(n, d));
+        elementos = 0;
+        for (T elemento : iterable) {
+            if (elementos == arbol.length)
+                crece();
+            arbol[elementos] = elemento;
+            elemento.setIndice(elementos);
+            elementos++;
+        }
+        reconstruye();
+    }
+
+    /** Duplica el tamaño del arreglo. */
+    protected void crece() {
+        T[] nuevo = nuevoArreglo(arbol.length * 2);
+        System.arraycopy(arbol, 0, nuevo, 0, elementos);
+        arbol = nuevo;
+    }
+
+    /**
+     * Sube el elemento en la posición i hasta su lugar.
+     * @param i la posición del elemento.
+     */
+    protected void acomodaHaciaArriba(int i) {
+        T elemento = arbol[i];
+        while (i > 0) {
+            int padre = (i - 1) / d;
+            if (arbol[padre].compareTo(elemento) <= 0)
+                break;
+            arbol[i] = arbol[padre];
+            arbol[i].setIndice(i);
+            i = padre;
+            acomodos++;
+        }
+        arbol[i] = elemento;
+        elemento.setIndice(i);
+    }
+
+    /**
+     * Baja el elemento en la posición i hasta su lugar.
+     * @param i la posición del elemento.
+     */
+    protected void acomodaHaciaAbajo(int i) {
+        T elemento = arbol[i];
+        int primero;
+        while ((primero = d * i + 1) < elementos) {
+            int ultimo = Math.min(primero + d, elementos);
+            int minimo = primero;
+            for (int hijo = primero + 1; hijo < ultimo; hijo++)
+                if (arbol[hijo].compareTo(arbol[minimo]) < 0)
+                    minimo = hijo;
+            if (elemento.compareTo(arbol[minimo]) <= 0)
+                break;
+            arbol[i] = arbol[minimo];
+            arbol[i].setIndice(i);
+            i = minimo;
+            acomodos++;
+        }
+        arbol[i] = elemento;
+        elemento.setIndice(i);
+    }
+
+    /**
+     * Reconstruye el montículo de abajo hacia arriba, en tiempo
+     * <i>O</i>(<i>n</i>).
+     */
+    protected void reconstruye() {
+        if (elementos > 1)
+            for (int i = (elementos - 2) / d; i >= 0; i--)
+                acomodaHaciaAbajo(i);
+    }
+
+    /**
+     * Agrega un nuevo elemento en el montículo.
+     * @param elemento el elemento a agregar en el montículo.
+     */
+    public void agrega(T elemento) {
+        if (elementos == arbol.length)
+            crece();
+        arbol[elementos] = elemento;
+        acomodaHaciaArriba(elementos++);
+    }
+
+    /**
+     * Agrega todos los elementos del iterable al montículo. Si el lote es
+     * grande respecto al montículo, se ponen al final del arreglo y el
+     * montículo se reconstruye en tiempo <i>O</i>(<i>n</i>); si no, cada uno
+     * se sube a su lugar, en tiempo <i>O</i>(log <i>n</i>) por elemento.
+     * @param iterable los elementos a agregar.
+     */
+    @Override public void agregaTodos(Iterable<T> iterable) {
+        int antes = elementos;
+        for (T elemento : iterable) {
+            if (elementos == arbol.length)
+                crece();
+            arbol[elementos] = elemento;
+            elemento.setIndice(elementos);
+            elementos++;
+        }
+        if (conviene(elementos - antes))
+            reconstruye();
+        else
+            for (int i = antes; i < elementos; i++)
+                acomodaHaciaArriba(i);
+    }
+
+    /**
+     * Reordena todos los elementos del iterable, que ya estaban en el
+     * montículo y cambiaron; sus llaves pueden haber subido o bajado. Si son
+     * muchos respecto al montículo, éste se reconstruye una sola vez en tiempo
+     * <i>O</i>(<i>n</i>); si no, se bajan a su lugar, de abajo hacia arriba,
+     * los elementos que cambiaron y sus ancestros. Los elementos que no están
+     * en el montículo se ignoran.
+     * @param iterable los elementos que hay que reordenar.
+     */
+    @Override public void reordenaLote(Iterable<T> iterable) {
+        int k = 0;
+        for (T elemento : iterable)
+            k++;
+        if (conviene(k)) {
+            reconstruye();
+            return;
+        }
+        /* Reordenar uno por uno no basta cuando varias llaves cambiaron a la
+         * vez: un elemento puede subir por encima de un ancestro que también
+         * cambió y quedar sobre un hermano menor. Bajar todos los ancestros,
+         * hijos antes que padres, es una reconstrucción parcial. */
+        int[] posiciones = new int[k * (32 - Integer.numberOfLeadingZeros(elementos))];
+        int m = 0;
+        for (T elemento : iterable) {
+            int i = elemento.getIndice();
+            if (i < 0 || i >= elementos || arbol[i] != elemento)
+                continue;
+            posiciones[m++] = i;
+            while (i > 0) {
+                i = (i - 1) / d;
+                posiciones[m++] = i;
+            }
+        }
+        Arrays.sort(posiciones, 0, m);
+        for (int j = m - 1; j >= 0; j--)
+            if (j == m - 1 || posiciones[j] != posiciones[j + 1])
+                acomodaHaciaAbajo(posiciones[j]);
+    }
+
+    /* Nos dice si para acomodar k elementos conviene más reconstruir el
+     * montículo, en tiempo O(n), que acomodarlos uno por uno, en tiempo
+     * O(k log n). */
+    private boolean conviene(int k) {
+        int log = 32 - Integer.numberOfLeadingZeros(elementos);
+        return (long)k * log >= elementos;
+    }
+
+    /**
+     * Elimina el elemento mínimo del montículo.
+     * @return el elemento mínimo del montículo.
+     * @throws IllegalStateException si el montículo es vacío.
+     */
+    @Override public T elimina() {
+        if (elementos == 0)
+            throw new IllegalStateException("el monticulo esta vacio");
+        T minimo = arbol[0];
+        minimo.setIndice(-1);
+        elementos--;
+        if (elementos > 0) {
+            arbol[0] = arbol[elementos];
+            acomodaHaciaAbajo(0);
+        }
+        arbol[elementos] = null;
+        return minimo;
+    }
+
+    /**
+     * Reordena un elemento en el árbol.
+     * @param elemento el elemento que hay que reordenar.
+     */
+    @Override public void reordena(T elemento) {
+        int i = elemento.getIndice();
+        if (i < 0 || i >= elementos)
+            return;
+        acomodaHaciaArriba(i);
+        if (arbol[i] == elemento)
+            acomodaHaciaAbajo(i);
+    }
+
+    /**
+     * Regresa el <i>i</i>-ésimo elemento del árbol, por niveles.
+     * @param i el índice del elemento que queremos.
+     * @return el <i>i</i>-ésimo elemento del árbol, por niveles.
+     * @throws NoSuchElementException si i es menor que cero, o mayor o igual
+     *         que el número de elementos.
+     */
+    @Override public T get(int i) {
+        if (i < 0 || i >= elementos)
+            throw new NoSuchElementException("el valor se sale del arreglo");
+        return arbol[i];
+    }
+
+    /**
+     * Nos dice si el montículo es vacío.
+     * @return <code>true</code> si ya no hay elementos en el montículo,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Regresa el número de elementos en el montículo.
+     * @return el número de elementos en el montículo.
+     */
+    @Override public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Regresa el número de acomodos: cuántos niveles han subido o bajado los
+     * elementos del montículo.
+     * @return el número de acomodos.
+     */
+    @Override public long getAcomodos() {
+        return acomodos;
+    }
+
+    /**
+     * Reinicia el contador de acomodos a cero.
+     */
+    @Override public void reiniciaAcomodos() {
+        acomodos = 0;
+    }
+}
@@ -0,0 +1,288 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>Clase para colas de prioridades de cubetas (de Dial), para el algoritmo
+ * de Dijkstra con pesos enteros.</p>
+ *
+ * <p>Cada elemento tiene una llave entera, o {@link #INFINITO} si todavía no
+ * tiene una. Si el peso máximo de una arista es <i>C</i>, durante Dijkstra
+ * todas las llaves finitas en la cola están entre la última llave eliminada
+ * y esa llave más <i>C</i>; así que basta un arreglo circular de
+ * <i>C</i>&nbsp;+&nbsp;1 cubetas, y la cubeta de una llave es su residuo
+ * módulo <i>C</i>&nbsp;+&nbsp;1. Reordenar un elemento lo cambia de cubeta
+ * en tiempo constante, y eliminar el mínimo avanza sobre las cubetas vacías;
+ * las llaves nunca bajan de la última eliminada, así que en total se avanza
+ * a lo más la distancia más grande.</p>
+ *
+ * <p>El índice de cada elemento es su lugar en un arreglo que no cambia
+ * mientras el elemento esté en la cola; las cubetas son listas doblemente
+ * ligadas de esos lugares, guardadas en arreglos de enteros.</p>
+ */
+public class MonticuloCubetas<T extends ComparableIndexable<T>>
+    implements MonticuloDijkstra<T> {
+
+    /** La llave de los elementos que todavía no tienen una. */
+    public static final long INFINITO = Long.MAX_VALUE;
+
+    /* La función que regresa la llave de un elemento. */
+    private ToLongFunction<T> llave;
+    /* El peso máximo; las llaves finitas caben en una ventana de este ancho. */
+    private int ancho;
+    /* Los elementos, por lugar. */
+    private T[] arreglo;
+    /* El número de lugares que se han usado alguna vez. */
+    private int usados;
+    /* El primero de los lugares libres, ligados por siguientes; -1 si no
+     * hay. */
+    private int libre;
+    /* El número de elementos en la cola. */
+    private int elementos;
+    /* El número de elementos con llave finita. */
+    private int finitos;
+    /* La cota inferior de las llaves finitas en la cola. */
+    private long minimo;
+    /* El primer lugar de cada cubeta, o -1; la última es la de infinitos. */
+    private int[] cabezas;
+    /* La cubeta de cada lugar. */
+    private int[] cubetas;
+    /* El lugar siguiente en la cubeta, o -1. */
+    private int[] siguientes;
+    /* El lugar anterior en la cubeta, o -1. */
+    private int[] anteriores;
+
+    /* Truco para crear arreglos genéricos. Es necesario hacerlo así por cómo
+       Java implementa sus genéricos; de otra forma obtenemos advertencias del
+       compilador. */
+    @SuppressWarnings("unchecked") private T[] nuevoArreglo(int n) {
+        return (T[])(new ComparableIndexable[n]);
+    }
+
+    /**
+     * Constructor para cola de cubetas vacía. Los elementos se agregan con
+     * {@link #agrega}.
+     * @param ancho el peso máximo de una arista.
+     * @param llave la función que regresa la llave de un elemento.
+     * @throws IllegalArgumentException si el ancho es menor que uno.
+     */
+    public MonticuloCubetas(int ancho, ToLongFunction<T> llave) {
+        this(new Lista<T>(), 0, ancho, llave);
+    }
+
+    /**
+     * Constructor para cola de cubetas a partir de un iterable y el número de
+     * elementos en el mismo. Las llaves finitas de los elementos deben caber
+     * en una ventana del ancho recibido.
+     * @param iterable el iterable a partir de la cuál queremos construir la
+     *                 cola.
+     * @param n el número de elementos en el iterable.
+     * @param ancho el peso máximo de una arista.
+     * @param llave la función que regresa la llave de un elemento.
+     * @throws IllegalArgumentException si el ancho es menor que uno, o si las
+     *         llaves finitas no caben en la ventana.
+     */
+    public MonticuloCubetas(Iterable<T> iterable, int n, int ancho,
+                            ToLongFunction<T> llave) {
+        if (ancho < 1 || ancho == Integer.MAX_VALUE)
+            throw new IllegalArgumentException("ancho invalido");
+        this.ancho = ancho;
+        this.llave = llave;
+        cabezas = new int[ancho + 2];
+        Arrays.fill(cabezas, -1);
+        n = Math.max(n, 1);
+        arreglo = nuevoArreglo(n);
+        cubetas = new int[n];
+        siguientes = new int[n];
+        anteriores = new int[n];
+        libre = -1;
+        long m = INFINITO;
+        for (T elemento : iterable) {
+            if (usados == arreglo.length)
+                crece();
+            arreglo[usados++] = elemento;
+            m = Math.min(m, llave.applyAsLong(elemento));
+        }
+        minimo = m;
+        for (int i = 0; i < usados; i++) {
+            long k = llave.applyAsLong(arreglo[i]);
+            if (k != INFINITO && k - m > ancho)
+                throw new IllegalArgumentException("la llave se sale de la ventana");
+            enlaza(i, k);
+            arreglo[i].setIndice(i);
+        }
+        elementos = usados;
+    }
+
+    /* Duplica los arreglos por lugar. */
+    private void crece() {
+        int n = arreglo.length * 2;
+        arreglo = Arrays.copyOf(arreglo, n);
+        cubetas = Arrays.copyOf(cubetas, n);
+        siguientes = Arrays.copyOf(siguientes, n);
+        anteriores = Arrays.copyOf(anteriores, n);
+    }
+
+    /* Regresa la cubeta de una llave. */
+    private int cubeta(long k) {
+        if (k == INFINITO)
+            return ancho + 1;
+        return (int)Math.floorMod(k, (long)ancho + 1);
+    }
+
+    /* Lanza una excepción si la llave finita no cabe en la ventana de las
+     * otras llaves finitas en la cola. */
+    private void revisa(long k, int otros) {
+        if (k != INFINITO && otros > 0 && (k < minimo || k - minimo > ancho))
+            throw new IllegalArgumentException("la llave se sale de la ventana");
+    }
+
+    /* Mete el lugar i al inicio de la cubeta de la llave k. Si es la única
+     * llave finita y no cabe en la ventana actual, la ventana se mueve a
+     * ella; si cabe, la ventana se queda en la última llave eliminada, para
+     * que las llaves que vengan después puedan estar entre las dos. */
+    private void enlaza(int i, long k) {
+        int c = cubeta(k);
+        if (c <= ancho && finitos++ == 0 && (k < minimo || k - minimo > ancho))
+            minimo = k;
+        cubetas[i] = c;
+        anteriores[i] = -1;
+        siguientes[i] = cabezas[c];
+        if (cabezas[c] != -1)
+            anteriores[cabezas[c]] = i;
+        cabezas[c] = i;
+    }
+
+    /* Saca el lugar i de su cubeta. */
+    private void desenlaza(int i) {
+        int c = cubetas[i];
+        if (c <= ancho)
+            finitos--;
+        if (anteriores[i] != -1)
+            siguientes[anteriores[i]] = siguientes[i];
+        else
+            cabezas[c] = siguientes[i];
+        if (siguientes[i] != -1)
+            anteriores[siguientes[i]] = anteriores[i];
+    }
+
+    /**
+     * Agrega un nuevo elemento en la cola.
+     * @param elemento el elemento a agregar en la cola.
+     * @throws IllegalArgumentException si la llave del elemento es finita y
+     *         no cabe en la ventana de las llaves finitas en la cola.
+     */
+    public void agrega(T elemento) {
+        long k = llave.applyAsLong(elemento);
+        revisa(k, finitos);
+        int i;
+        if (libre != -1) {
+            i = libre;
+            libre = siguientes[i];
+        } else {
+            if (usados == arreglo.length)
+                crece();
+            i = usados++;
+        }
+        arreglo[i] = elemento;
+        elemento.setIndice(i);
+        enlaza(i, k);
+        elementos++;
+    }
+
+    /**
+     * Agrega todos los elementos del iterable a la cola, uno por uno; cada
+     * uno toma tiempo constante.
+     * @param iterable los elementos a agregar.
+     * @throws IllegalArgumentException si la llave de algún elemento es finita
+     *         y no cabe en la ventana de las llaves finitas en la cola.
+     */
+    @Override public void agregaTodos(Iterable<T> iterable) {
+        for (T elemento : iterable)
+            agrega(elemento);
+    }
+
+    /**
+     * Elimina un elemento de llave mínima de la cola. Si sólo quedan
+     * elementos de llave {@link #INFINITO}, elimina cualquiera de ellos.
+     * @return un elemento de llave mínima de la cola.
+     * @throws IllegalStateException si la cola es vacía.
+     */
+    @Override public T elimina() {
+        if (elementos == 0)
+            throw new IllegalStateException("el monticulo esta vacio");
+        int c = ancho + 1;
+        if (finitos > 0) {
+            c = cubeta(minimo);
+            while (cabezas[c] == -1) {
+                minimo++;
+                c = c == ancho ? 0 : c + 1;
+            }
+        }
+        int i = cabezas[c];
+        desenlaza(i);
+        T elemento = arreglo[i];
+        arreglo[i] = null;
+        siguientes[i] = libre;
+        libre = i;
+        elemento.setIndice(-1);
+        elementos--;
+        return elemento;
+    }
+
+    /**
+     * Cambia un elemento a la cubeta de su llave actual. Si el elemento no
+     * está en la cola, no hace nada.
+     * @param elemento el elemento que hay que reordenar.
+     * @throws IllegalArgumentException si la nueva llave es finita y no cabe
+     *         en la ventana de las llaves finitas en la cola.
+     */
+    @Override public void reordena(T elemento) {
+        int i = elemento.getIndice();
+        if (i < 0 || i >= usados || arreglo[i] != elemento)
+            return;
+        long k = llave.applyAsLong(elemento);
+        revisa(k, cubetas[i] <= ancho ? finitos - 1 : finitos);
+        desenlaza(i);
+        enlaza(i, k);
+    }
+
+    /**
+     * Regresa el elemento en el <i>i</i>-ésimo lugar de la cola.
+     * @param i el índice del elemento que queremos.
+     * @return el elemento en el <i>i</i>-ésimo lugar de la cola.
+     * @throws NoSuchElementException si i es inválido o su lugar está libre.
+     */
+    @Override public T get(int i) {
+        if (i < 0 || i >= usados || arreglo[i] == null)
+            throw new NoSuchElementException("el valor se sale del arreglo");
+        return arreglo[i];
+    }
+
+    /**
+     * Nos dice si la cola es vacía.
+     * @return <code>true</code> si ya no hay elementos en la cola,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Regresa el número de elementos en la cola.
+     * @return el número de elementos en la cola.
+     */
+    @Override public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Regresa el ancho de la ventana de llaves: el peso máximo de una arista.
+     * @return el ancho de la ventana de llaves.
+     */
+    public int getAncho() {
+        return ancho;
+    }
+}
@@ -0,0 +1,67 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * <p>Clase para montículos mínimos <i>d</i>-arios indexados. Cada vértice del
+ * montículo tiene hasta <i>d</i> hijos (cuatro por omisión), así que el árbol
+ * es más bajo que el de {@link MonticuloMinimo} y los hijos de un vértice
+ * quedan contiguos en el arreglo.</p>
+ *
+ * <p>Los acomodos son los de {@link MonticuloCompleto}.</p>
+ */
+public class MonticuloDArio<T extends ComparableIndexable<T>>
+    extends MonticuloCompleto<T> {
+
+    /** Aridad por omisión. */
+    public static final int ARIDAD = 4;
+
+    /**
+     * Constructor para montículo <i>d</i>-ario vacío con la aridad por
+     * omisión. Los elementos se agregan con {@link #agrega}.
+     */
+    public MonticuloDArio() {
+        this(new Lista<T>(), 0, ARIDAD);
+    }
+
+    /**
+     * Constructor para montículo <i>d</i>-ario con la aridad por omisión, a
+     * partir de una colección.
+     * @param coleccion la colección a partir de la cuál queremos construir el
+     *                  montículo.
+     */
+    public MonticuloDArio(Coleccion<T> coleccion) {
+        this(coleccion, coleccion.getElementos(), ARIDAD);
+    }
+
+    /**
+     * Constructor para montículo <i>d</i>-ario con la aridad por omisión, a
+     * partir de un iterable y el número de elementos en el mismo.
+     * @param iterable el iterable a partir de la cuál queremos construir el
+     *                 montículo.
+     * @param n el número de elementos en el iterable.
+     */
+    public MonticuloDArio(Iterable<T> iterable, int n) {
+        this(iterable, n, ARIDAD);
+    }
+
+    /**
+     * Constructor para montículo <i>d</i>-ario a partir de un iterable, el
+     * número de elementos en el mismo, y la aridad. El montículo se construye
+     * en tiempo <i>O</i>(<i>n</i>).
+     * @param iterable el iterable a partir de la cuál queremos construir el
+     *                 montículo.
+     * @param n el número de elementos en el iterable.
+     * @param d la aridad del montículo.
+     * @throws IllegalArgumentException si la aridad es menor que dos.
+     */
+    public MonticuloDArio(Iterable<T> iterable, int n, int d) {
+        super(iterable, n, d);
+    }
+
+    /**
+     * Regresa la aridad del montículo.
+     * @return la aridad del montículo.
+     */
+    public int getAridad() {
+        return d;
+    }
+}
@@ -20,6 +20,23 @@ public interface MonticuloDijkstra<T extends ComparableIndexable<T>> {
      */
     default public void reordena(T elemento) {}
 
+    /**
+     * Agrega todos los elementos del iterable al montículo.
+     * @param iterable los elementos a agregar.
+     */
+    public void agregaTodos(Iterable<T> iterable);
+
+    /**
+     * Reordena todos los elementos del iterable, que ya estaban en el
+     * montículo y cambiaron. Por omisión reordena uno por uno, lo que basta
+     * si las llaves sólo bajaron, como en Dijkstra.
+     * @param iterable los elementos que hay que reordenar.
+     */
+    default public void reordenaLote(Iterable<T> iterable) {
+        for (T elemento : iterable)
+            reordena(elemento);
+    }
+
     /**
      * Regresa el <i>i</i>-ésimo elemento del montículo.
      * @param i el índice del elemento que queremos.
@@ -0,0 +1,130 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+
+/**
+ * Clase para montículos mínimos de índices enteros. Los índices están entre
+ * 0 y <i>n</i>-1 y se ordenan por las distancias de un arreglo que comparten
+ * el montículo y quien lo usa; así las búsquedas sobre gráficas compactas no
+ * tienen que crear un objeto por vértice.
+ */
+public class MonticuloIndexado {
+
+    /* Los índices del montículo. */
+    private int[] arbol;
+    /* La posición de cada índice en el árbol, o -1. */
+    private int[] posiciones;
+    /* El número de índices en el montículo. */
+    private int elementos;
+    /* Las distancias de los índices. */
+    private double[] distancias;
+
+    /**
+     * Crea un montículo vacío para los índices del arreglo de distancias.
+     * @param distancias las distancias que ordenan a los índices; el
+     *        montículo no las copia.
+     */
+    public MonticuloIndexado(double[] distancias) {
+        this.distancias = distancias;
+        arbol = new int[64];
+        posiciones = new int[distancias.length];
+        Arrays.fill(posiciones, -1);
+    }
+
+    /**
+     * Nos dice si el montículo es vacío.
+     * @return <code>true</code> si ya no hay índices en el montículo,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Regresa el número de índices en el montículo.
+     * @return el número de índices en el montículo.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Nos dice si un índice está en el montículo.
+     * @param indice el índice.
+     * @return <code>true</code> si el índice está en el montículo,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(int indice) {
+        return posiciones[indice] >= 0;
+    }
+
+    /**
+     * Agrega el índice al montículo o, si ya estaba, lo reordena después de
+     * que su distancia disminuyó.
+     * @param indice el índice.
+     */
+    public void agregaOReordena(int indice) {
+        if (posiciones[indice] >= 0) {
+            acomodaHaciaArriba(posiciones[indice]);
+            return;
+        }
+        if (elementos == arbol.length)
+            arbol = Arrays.copyOf(arbol, arbol.length * 2);
+        arbol[elementos] = indice;
+        posiciones[indice] = elementos;
+        acomodaHaciaArriba(elementos++);
+    }
+
+    /**
+     * Elimina el índice de distancia mínima.
+     * @return el índice de distancia mínima.
+     * @throws IllegalStateException si el montículo es vacío.
+     */
+    public int elimina() {
+        if (elementos == 0)
+            throw new IllegalStateException("el monticulo esta vacio");
+        int minimo = arbol[0];
+        posiciones[minimo] = -1;
+        if (--elementos > 0) {
+            arbol[0] = arbol[elementos];
+            posiciones[arbol[0]] = 0;
+            acomodaHaciaAbajo(0);
+        }
+        return minimo;
+    }
+
+    /* Sube el índice en la posición i hasta su lugar. */
+    private void acomodaHaciaArriba(int i) {
+        int indice = arbol[i];
+        double distancia = distancias[indice];
+        while (i > 0) {
+            int padre = (i - 1) / 2;
+            if (distancias[arbol[padre]] <= distancia)
+                break;
+            arbol[i] = arbol[padre];
+            posiciones[arbol[i]] = i;
+            i = padre;
+        }
+        arbol[i] = indice;
+        posiciones[indice] = i;
+    }
+
+    /* Baja el índice en la posición i hasta su lugar. */
+    private void acomodaHaciaAbajo(int i) {
+        int indice = arbol[i];
+        double distancia = distancias[indice];
+        int hijo;
+        while ((hijo = 2 * i + 1) < elementos) {
+            if (hijo + 1 < elementos &&
+                distancias[arbol[hijo + 1]] < distancias[arbol[hijo]])
+                hijo++;
+            if (distancia <= distancias[arbol[hijo]])
+                break;
+            arbol[i] = arbol[hijo];
+            posiciones[arbol[i]] = i;
+            i = hijo;
+        }
+        arbol[i] = indice;
+        posiciones[indice] = i;
+    }
+}
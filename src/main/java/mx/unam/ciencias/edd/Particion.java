@@ -0,0 +1,145 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Clase para particiones de elementos genéricos en conjuntos disjuntos. Cada
+ * elemento se traduce a un índice con un {@link Diccionario} y los conjuntos
+ * se guardan en unos {@link ConjuntosDisjuntos}, así que cada operación cuesta
+ * una búsqueda en el diccionario más un tiempo prácticamente constante.
+ * @param <T> El tipo de los elementos de la partición.
+ */
+public class Particion<T> {
+
+    /* El índice de cada elemento. */
+    private Diccionario<T, Integer> indices;
+    /* El elemento de cada índice. */
+    private T[] elementos;
+    /* Los conjuntos de los índices. */
+    private ConjuntosDisjuntos conjuntos;
+
+    /**
+     * Construye una partición vacía.
+     */
+    public Particion() {
+        this(1);
+    }
+
+    /**
+     * Construye una partición vacía con espacio para el número de elementos
+     * recibido.
+     * @param capacidad el número de elementos esperado.
+     */
+    @SuppressWarnings("unchecked") public Particion(int capacidad) {
+        capacidad = Math.max(capacidad, 1);
+        indices = new Diccionario<>(capacidad, Direccionamiento.ABIERTO);
+        elementos = (T[])new Object[capacidad];
+        conjuntos = new ConjuntosDisjuntos(0);
+    }
+
+    /**
+     * Agrega un elemento a la partición, en su propio conjunto.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si el elemento es <code>null</code> o
+     *         ya está en la partición.
+     */
+    public void agrega(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException("el elemento es nulo");
+        if (indices.contiene(elemento))
+            throw new IllegalArgumentException("el elemento ya esta en la particion");
+        int indice = conjuntos.agrega();
+        if (indice == elementos.length)
+            elementos = Arrays.copyOf(elementos, elementos.length * 2);
+        elementos[indice] = elemento;
+        indices.agrega(elemento, indice);
+    }
+
+    /**
+     * Nos dice si un elemento está en la partición.
+     * @param elemento el elemento que queremos verificar.
+     * @return <code>true</code> si el elemento está en la partición,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(T elemento) {
+        return indices.contiene(elemento);
+    }
+
+    /**
+     * Regresa el representante del conjunto del elemento. Dos elementos están
+     * en el mismo conjunto si y sólo si tienen el mismo representante.
+     * @param elemento el elemento.
+     * @return el representante del conjunto del elemento.
+     * @throws NoSuchElementException si el elemento no está en la partición.
+     */
+    public T busca(T elemento) {
+        return elementos[conjuntos.busca(indice(elemento))];
+    }
+
+    /**
+     * Une los conjuntos de dos elementos.
+     * @param a el primer elemento.
+     * @param b el segundo elemento.
+     * @return <code>true</code> si los elementos estaban en conjuntos
+     *         distintos, <code>false</code> si ya estaban en el mismo.
+     * @throws NoSuchElementException si alguno de los elementos no está en la
+     *         partición.
+     */
+    public boolean une(T a, T b) {
+        return conjuntos.une(indice(a), indice(b));
+    }
+
+    /**
+     * Nos dice si dos elementos están en el mismo conjunto.
+     * @param a el primer elemento.
+     * @param b el segundo elemento.
+     * @return <code>true</code> si los elementos están en el mismo conjunto,
+     *         <code>false</code> en otro caso.
+     * @throws NoSuchElementException si alguno de los elementos no está en la
+     *         partición.
+     */
+    public boolean conectados(T a, T b) {
+        return conjuntos.conectados(indice(a), indice(b));
+    }
+
+    /**
+     * Regresa el tamaño del conjunto del elemento.
+     * @param elemento el elemento.
+     * @return el número de elementos en su conjunto.
+     * @throws NoSuchElementException si el elemento no está en la partición.
+     */
+    public int getTamano(T elemento) {
+        return conjuntos.getTamano(indice(elemento));
+    }
+
+    /**
+     * Regresa el número de elementos en la partición.
+     * @return el número de elementos en la partición.
+     */
+    public int getElementos() {
+        return conjuntos.getElementos();
+    }
+
+    /**
+     * Regresa el número de conjuntos de la partición.
+     * @return el número de conjuntos de la partición.
+     */
+    public int getConjuntos() {
+        return conjuntos.getConjuntos();
+    }
+
+    /**
+     * Separa todos los elementos, dejando a cada uno en su propio conjunto.
+     */
+    public void separa() {
+        conjuntos.limpia();
+    }
+
+    /* Regresa el índice del elemento. */
+    private int indice(T elemento) {
+        if (elemento == null)
+            throw new NoSuchElementException("el elemento no esta en la particion");
+        return indices.get(elemento);
+    }
+}
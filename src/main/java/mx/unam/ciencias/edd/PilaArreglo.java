@@ -0,0 +1,34 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Clase para pilas genéricas sobre un arreglo circular. Tiene el mismo
+ * comportamiento que {@link Pila}, pero no crea un nodo por elemento.
+ */
+public class PilaArreglo<T> extends MeteSacaArreglo<T> {
+
+    /**
+     * Regresa una representación en cadena de la pila.
+     * @return una representación en cadena de la pila.
+     */
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < elementos; i++)
+            sb.append(get(i).toString()).append("\n");
+        return sb.toString();
+    }
+
+    /**
+     * Agrega un elemento al tope de la pila.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    @Override public void mete(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException("el elemento es vacio");
+        crece();
+        inicio = (inicio - 1) & (arreglo.length - 1);
+        arreglo[inicio] = elemento;
+        elementos++;
+    }
+}
@@ -0,0 +1,114 @@
+package mx.unam.ciencias.edd;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Proyecto 3: creación y resolución de laberintos.
+ */
+public class Proyecto3 {
+
+    /* Imprime el uso del programa y termina. */
+    private static void uso() {
+        System.err.println("Uso: java -jar proyecto3.jar " +
+                           "[dfs|kruskal|wilson|eller] <ancho> <alto> [semilla]\n" +
+                           "     java -jar proyecto3.jar -g <ancho> <alto> [semilla]\n" +
+                           "     java -jar proyecto3.jar -r\n" +
+                           "     java -jar proyecto3.jar -m <archivo>");
+        System.exit(1);
+    }
+
+    /* Regresa el algoritmo con el nombre recibido. */
+    private static AlgoritmoLaberinto algoritmo(String nombre) {
+        try {
+            return AlgoritmoLaberinto.valueOf(nombre.toUpperCase());
+        } catch (IllegalArgumentException iae) {
+            uso();
+            return null;
+        }
+    }
+
+    /* Genera un laberinto con Eller y lo escribe en la salida estándar,
+     * renglón por renglón. */
+    private static void generaEnFlujo(String[] args) throws IOException {
+        try {
+            int ancho = Integer.parseInt(args[1]);
+            long alto = Long.parseLong(args[2]);
+            long semilla = (args.length == 4) ?
+                Long.parseLong(args[3]) : System.nanoTime();
+            GeneradorLaberintos.ellerEnFlujo(ancho, alto, semilla, System.out);
+        } catch (IllegalArgumentException iae) {
+            uso();
+        }
+    }
+
+    /* Lee un laberinto de la entrada estándar, renglón por renglón, e
+     * imprime la longitud de la trayectoria de la esquina superior izquierda
+     * a la esquina inferior derecha. */
+    private static void resuelveEnFlujo() throws IOException {
+        LectorLaberinto lector = new LectorLaberinto(System.in);
+        long longitud = SolucionadorFlujo.longitud(lector, 0, lector.getAncho() - 1);
+        if (longitud < 0)
+            System.out.println("El laberinto no tiene solución.");
+        else
+            System.out.println(longitud);
+    }
+
+    /* Abre un laberinto guardado en un archivo sin leerlo, e imprime la
+     * longitud de la trayectoria de la esquina superior izquierda a la
+     * esquina inferior derecha. */
+    private static void resuelveMapeado(String archivo) throws IOException {
+        LaberintoMapeado laberinto = new LaberintoMapeado(Paths.get(archivo));
+        long[] trayectoria = laberinto.trayectoriaMinima(0, laberinto.getElementos() - 1);
+        if (trayectoria.length == 0)
+            System.out.println("El laberinto no tiene solución.");
+        else
+            System.out.println(trayectoria.length - 1);
+    }
+
+    /**
+     * Genera un laberinto con el algoritmo y las dimensiones recibidas, y lo
+     * imprime en la salida estándar. Con <code>-g</code> genera el laberinto
+     * con Eller y lo escribe en binario renglón por renglón; con
+     * <code>-r</code> lee un laberinto así de la entrada estándar y lo
+     * resuelve mientras lo lee, de manera que <code>-g</code> y
+     * <code>-r</code> pueden unirse con una tubería; con <code>-m</code>
+     * resuelve un laberinto así guardado en un archivo, mapeándolo a memoria.
+     * @param args el algoritmo (o <code>-g</code>), el ancho, el alto y
+     *        opcionalmente la semilla; o solamente <code>-r</code>; o
+     *        <code>-m</code> y el archivo.
+     */
+    public static void main(String[] args) {
+        try {
+            if (args.length == 1 && args[0].equals("-r")) {
+                resuelveEnFlujo();
+                return;
+            }
+            if (args.length == 2 && args[0].equals("-m")) {
+                resuelveMapeado(args[1]);
+                return;
+            }
+            if (args.length < 3 || args.length > 4)
+                uso();
+            if (args[0].equals("-g")) {
+                generaEnFlujo(args);
+                return;
+            }
+        } catch (IOException ioe) {
+            System.err.println("Error de entrada/salida: " + ioe.getMessage());
+            System.exit(1);
+        }
+        AlgoritmoLaberinto algoritmo = algoritmo(args[0]);
+        Laberinto laberinto = null;
+        try {
+            int ancho = Integer.parseInt(args[1]);
+            int alto = Integer.parseInt(args[2]);
+            long semilla = (args.length == 4) ?
+                Long.parseLong(args[3]) : System.nanoTime();
+            laberinto = GeneradorLaberintos.genera(algoritmo, ancho, alto, semilla);
+        } catch (IllegalArgumentException iae) {
+            uso();
+        }
+        System.out.print(laberinto);
+    }
+}
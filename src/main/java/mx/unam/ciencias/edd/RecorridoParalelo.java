@@ -0,0 +1,153 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Clase para BFS paralelo por niveles. Cada nivel expande la frontera
+ * completa en paralelo con <i>fork-join</i>; los vértices se reclaman con un
+ * mapa de bits atómico, así que cada uno entra a la siguiente frontera una
+ * sola vez aunque varios hilos lo descubran al mismo tiempo. Las fronteras
+ * chicas se expanden en el hilo que llama, sin pasar por el <i>pool</i>.
+ */
+class RecorridoParalelo {
+
+    /* Interfaz para las adyacencias de una gráfica con vértices 0 a n-1. */
+    interface Adyacencias {
+
+        /* Regresa cuántas posiciones de vecino tiene el vértice. */
+        int grado(int vertice);
+
+        /* Regresa el i-ésimo vecino del vértice, o -1 si no hay. */
+        int vecino(int vertice, int i);
+    }
+
+    /* Tarea que expande un intervalo de la frontera, partiéndolo a la mitad
+     * mientras sea grande. */
+    private class Expansion extends RecursiveAction {
+
+        /* El inicio del intervalo. */
+        private int desde;
+        /* El final del intervalo. */
+        private int hasta;
+
+        /* Crea una tarea para la frontera en [desde, hasta). */
+        public Expansion(int desde, int hasta) {
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        /* Expande el intervalo, o lo parte en dos tareas. */
+        @Override protected void compute() {
+            if (hasta - desde <= UMBRAL) {
+                long posiciones = 0;
+                for (int i = desde; i < hasta; i++)
+                    posiciones += adyacencias.grado(frontera[i]);
+                int[] nuevos = new int[(int)Math.min(niveles.length, posiciones)];
+                int k = expande(desde, hasta, nuevos);
+                if (k > 0)
+                    System.arraycopy(nuevos, 0, siguiente, tamano.getAndAdd(k), k);
+                return;
+            }
+            int mitad = (desde + hasta) >>> 1;
+            invokeAll(new Expansion(desde, mitad), new Expansion(mitad, hasta));
+        }
+    }
+
+    /* Tamaño de frontera debajo del cual no se parte el trabajo. */
+    private static final int UMBRAL = 2048;
+
+    /* Las adyacencias de la gráfica. */
+    private Adyacencias adyacencias;
+    /* El nivel de cada vértice, o -1 si no se ha alcanzado. */
+    private int[] niveles;
+    /* Los vértices alcanzados, un bit por vértice. */
+    private AtomicLongArray alcanzados;
+    /* La frontera actual. */
+    private int[] frontera;
+    /* La siguiente frontera. */
+    private int[] siguiente;
+    /* Cuántos vértices lleva la siguiente frontera. */
+    private AtomicInteger tamano;
+    /* El nivel de la siguiente frontera. */
+    private int nivel;
+
+    /* Crea un recorrido sobre n vértices. */
+    private RecorridoParalelo(int n, Adyacencias adyacencias) {
+        this.adyacencias = adyacencias;
+        niveles = new int[n];
+        Arrays.fill(niveles, -1);
+        alcanzados = new AtomicLongArray((int)(((long)n + 63) >>> 6));
+        frontera = new int[n];
+        siguiente = new int[n];
+        tamano = new AtomicInteger();
+    }
+
+    /* Regresa el nivel BFS de cada vértice desde el origen, o -1 para los
+     * vértices que no se alcanzan. */
+    static int[] niveles(int n, int origen, Adyacencias adyacencias,
+                         ForkJoinPool pool) {
+        return new RecorridoParalelo(n, adyacencias).recorre(origen, pool);
+    }
+
+    /* Recorre la gráfica desde el origen, nivel por nivel. */
+    private int[] recorre(int origen, ForkJoinPool pool) {
+        reclama(origen);
+        niveles[origen] = 0;
+        frontera[0] = origen;
+        int longitud = 1;
+        while (longitud > 0) {
+            nivel++;
+            if (longitud <= UMBRAL) {
+                tamano.set(expande(0, longitud, siguiente));
+            } else {
+                tamano.set(0);
+                pool.invoke(new Expansion(0, longitud));
+            }
+            int[] t = frontera;
+            frontera = siguiente;
+            siguiente = t;
+            longitud = tamano.get();
+        }
+        return niveles;
+    }
+
+    /* Expande la frontera en [desde, hasta) y regresa cuántos vértices
+     * reclamó. Los vértices se juntan en el arreglo recibido: en paralelo es
+     * un arreglo local de la tarea, con tantas posiciones como vecinos tiene
+     * el intervalo, que después se copia de una vez a la siguiente frontera;
+     * en el hilo que llama es la siguiente frontera misma. */
+    private int expande(int desde, int hasta, int[] nuevos) {
+        int k = 0;
+        for (int i = desde; i < hasta; i++) {
+            int v = frontera[i];
+            int grado = adyacencias.grado(v);
+            for (int j = 0; j < grado; j++) {
+                int u = adyacencias.vecino(v, j);
+                /* Leer el nivel antes de reclamar evita la operación atómica
+                 * con los vecinos ya alcanzados, como el padre de v. */
+                if (u < 0 || niveles[u] >= 0 || !reclama(u))
+                    continue;
+                niveles[u] = nivel;
+                nuevos[k++] = u;
+            }
+        }
+        return k;
+    }
+
+    /* Marca el vértice como alcanzado; regresa false si ya lo estaba. */
+    private boolean reclama(int vertice) {
+        int i = vertice >>> 6;
+        long bit = 1L << vertice;
+        long palabra = alcanzados.get(i);
+        while ((palabra & bit) == 0) {
+            if (alcanzados.compareAndSet(i, palabra, palabra | bit))
+                return true;
+            palabra = alcanzados.get(i);
+        }
+        return false;
+    }
+}
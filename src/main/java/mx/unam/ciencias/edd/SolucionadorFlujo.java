@@ -0,0 +1,261 @@
+package mx.unam.ciencias.edd;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * <p>Clase para resolver laberintos perfectos mientras se leen renglón por
+ * renglón de un {@link LectorLaberinto}, así que el laberinto se puede
+ * resolver al mismo tiempo que se genera con {@link
+ * GeneradorLaberintos#ellerEnFlujo}, sin tenerlo nunca completo en
+ * memoria.</p>
+ *
+ * <p>El solucionador guarda un árbol virtual: las celdas del último renglón
+ * leído y la entrada, más las celdas donde se bifurcan las trayectorias que
+ * las unen; cada pasillo sin bifurcaciones se comprime en una sola arista
+ * con su longitud, y los callejones sin salida se podan. En un laberinto
+ * perfecto la trayectoria entre dos celdas es única, así que las distancias
+ * en el árbol virtual son las del laberinto, y el árbol tiene
+ * <i>O</i>(<i>ancho</i>) vértices sin importar el alto.</p>
+ */
+public class SolucionadorFlujo {
+
+    /* Capacidad de vecinos de un vértice: una celda tiene a lo más cuatro
+     * pasos, y cada arista del árbol virtual empieza con uno distinto. */
+    private static final int GRADO = 4;
+
+    /* El ancho del laberinto. */
+    private int ancho;
+    /* Los vecinos de cada vértice, GRADO por vértice. */
+    private int[] vecinos;
+    /* Las longitudes de las aristas, en las mismas posiciones. */
+    private long[] longitudes;
+    /* El grado de cada vértice. */
+    private int[] grados;
+    /* Si el vértice es una celda que no se puede podar. */
+    private boolean[] fijos;
+    /* Los vértices libres, como pila. */
+    private int[] libres;
+    /* El tope de la pila de vértices libres. */
+    private int tope;
+    /* El vértice de cada celda del renglón actual. */
+    private int[] renglon;
+    /* El conjunto de cada celda del renglón actual; se renombran en cada
+     * renglón para que estén entre 0 y ancho-1. */
+    private int[] conjuntos;
+    /* Las uniones entre los conjuntos del renglón actual. */
+    private ConjuntosDisjuntos disjuntos;
+
+    /* Crea un solucionador para laberintos del ancho recibido. */
+    private SolucionadorFlujo(int ancho) {
+        this.ancho = ancho;
+        int n = 2 * ancho + 2;
+        vecinos = new int[GRADO * n];
+        longitudes = new long[GRADO * n];
+        grados = new int[n];
+        fijos = new boolean[n];
+        libres = new int[n];
+        for (int i = n - 1; i >= 0; i--)
+            libres[tope++] = i;
+        renglon = new int[ancho];
+        conjuntos = new int[ancho];
+        disjuntos = new ConjuntosDisjuntos(ancho);
+    }
+
+    /**
+     * Lee los renglones que faltan del laberinto, y regresa la longitud de
+     * la trayectoria entre la celda <code>entrada</code> del primer renglón y
+     * la celda <code>salida</code> del último. El lector no debe haber leído
+     * ningún renglón. Si la entrada queda aislada, la lectura se detiene en
+     * ese renglón.
+     * @param lector el lector del laberinto.
+     * @param entrada la columna de la entrada, en el primer renglón.
+     * @param salida la columna de la salida, en el último renglón.
+     * @return el número de pasos de la trayectoria, o -1 si no hay
+     *         trayectoria.
+     * @throws IOException si ocurre un error al leer.
+     * @throws IllegalArgumentException si alguna de las columnas es
+     *         inválida, o si el laberinto tiene ciclos.
+     * @throws IllegalStateException si el lector ya leyó algún renglón.
+     */
+    public static long longitud(LectorLaberinto lector, int entrada, int salida)
+        throws IOException {
+        int ancho = lector.getAncho();
+        if (entrada < 0 || entrada >= ancho || salida < 0 || salida >= ancho)
+            throw new IllegalArgumentException("columna invalida");
+        if (lector.getRenglones() != 0)
+            throw new IllegalStateException("el lector ya leyo renglones");
+        return new SolucionadorFlujo(ancho).resuelve(lector, entrada, salida);
+    }
+
+    /* Resuelve el laberinto del lector. */
+    private long resuelve(LectorLaberinto lector, int entrada, int salida)
+        throws IOException {
+        byte[] arriba = new byte[ancho];
+        byte[] aperturas = new byte[ancho];
+        int[] nuevo = new int[ancho];
+        int[] nombres = new int[ancho];
+
+        lector.lee(aperturas);
+        for (int x = 0; x < ancho; x++) {
+            renglon[x] = nuevoVertice();
+            conjuntos[x] = x;
+        }
+        int verticeEntrada = renglon[entrada];
+        int conjuntoEntrada = entrada;
+        horizontales(renglon, aperturas);
+
+        while (lector.hayRenglon()) {
+            byte[] t = arriba;
+            arriba = aperturas;
+            aperturas = t;
+            lector.lee(aperturas);
+
+            /* Las celdas con paso desde arriba heredan su conjunto; las demás
+             * empiezan uno nuevo. */
+            Arrays.fill(nombres, -1);
+            int k = 0;
+            for (int x = 0; x < ancho; x++) {
+                if ((arriba[x] & Laberinto.SUR) == 0) {
+                    conjuntos[x] = k++;
+                    continue;
+                }
+                int r = disjuntos.busca(conjuntos[x]);
+                if (nombres[r] < 0)
+                    nombres[r] = k++;
+                conjuntos[x] = nombres[r];
+            }
+            conjuntoEntrada = nombres[disjuntos.busca(conjuntoEntrada)];
+            if (conjuntoEntrada < 0)
+                return -1;
+            disjuntos.limpia();
+
+            for (int x = 0; x < ancho; x++) {
+                nuevo[x] = nuevoVertice();
+                if ((arriba[x] & Laberinto.SUR) != 0)
+                    enlaza(renglon[x], nuevo[x], 1);
+            }
+            horizontales(nuevo, aperturas);
+            for (int x = 0; x < ancho; x++) {
+                if (renglon[x] == verticeEntrada)
+                    continue;
+                fijos[renglon[x]] = false;
+                poda(renglon[x]);
+            }
+            int[] r = renglon;
+            renglon = nuevo;
+            nuevo = r;
+        }
+
+        if (!disjuntos.conectados(conjuntoEntrada, conjuntos[salida]))
+            return -1;
+        return distancia(verticeEntrada, renglon[salida]);
+    }
+
+    /* Enlaza las celdas del renglón que tienen paso al este. */
+    private void horizontales(int[] vertices, byte[] aperturas) {
+        for (int x = 0; x < ancho - 1; x++) {
+            if ((aperturas[x] & Laberinto.ESTE) == 0)
+                continue;
+            if (!disjuntos.une(conjuntos[x], conjuntos[x + 1]))
+                throw new IllegalArgumentException("el laberinto tiene ciclos");
+            enlaza(vertices[x], vertices[x + 1], 1);
+        }
+    }
+
+    /* Regresa un vértice fijo y sin vecinos. */
+    private int nuevoVertice() {
+        if (tope == 0)
+            crece();
+        int v = libres[--tope];
+        grados[v] = 0;
+        fijos[v] = true;
+        return v;
+    }
+
+    /* Duplica el número de vértices disponibles. */
+    private void crece() {
+        int n = grados.length;
+        vecinos = Arrays.copyOf(vecinos, 2 * GRADO * n);
+        longitudes = Arrays.copyOf(longitudes, 2 * GRADO * n);
+        grados = Arrays.copyOf(grados, 2 * n);
+        fijos = Arrays.copyOf(fijos, 2 * n);
+        libres = Arrays.copyOf(libres, 2 * n);
+        for (int i = 2 * n - 1; i >= n; i--)
+            libres[tope++] = i;
+    }
+
+    /* Agrega una arista entre dos vértices. */
+    private void enlaza(int a, int b, long longitud) {
+        vecinos[GRADO * a + grados[a]] = b;
+        longitudes[GRADO * a + grados[a]++] = longitud;
+        vecinos[GRADO * b + grados[b]] = a;
+        longitudes[GRADO * b + grados[b]++] = longitud;
+    }
+
+    /* Regresa la posición de la arista de a hacia b. */
+    private int posicion(int a, int b) {
+        for (int i = GRADO * a; i < GRADO * a + grados[a]; i++)
+            if (vecinos[i] == b)
+                return i;
+        throw new IllegalStateException("los vertices no son vecinos");
+    }
+
+    /* Poda el vértice si ya no está fijo y es un callejón o parte de un
+     * pasillo, y sigue con su vecino si éste se vuelve callejón. */
+    private void poda(int v) {
+        while (!fijos[v]) {
+            if (grados[v] == 0) {
+                libres[tope++] = v;
+                return;
+            }
+            if (grados[v] == 1) {
+                int u = vecinos[GRADO * v];
+                int i = posicion(u, v);
+                int ultima = GRADO * u + --grados[u];
+                vecinos[i] = vecinos[ultima];
+                longitudes[i] = longitudes[ultima];
+                libres[tope++] = v;
+                v = u;
+                continue;
+            }
+            if (grados[v] == 2) {
+                int a = vecinos[GRADO * v], b = vecinos[GRADO * v + 1];
+                long longitud = longitudes[GRADO * v] + longitudes[GRADO * v + 1];
+                int i = posicion(a, v), j = posicion(b, v);
+                vecinos[i] = b;
+                longitudes[i] = longitud;
+                vecinos[j] = a;
+                longitudes[j] = longitud;
+                libres[tope++] = v;
+            }
+            return;
+        }
+    }
+
+    /* Regresa la distancia entre dos vértices del mismo árbol. */
+    private long distancia(int origen, int destino) {
+        int[] pila = new int[grados.length];
+        int[] padresPila = new int[grados.length];
+        long[] distancias = new long[grados.length];
+        int t = 0;
+        pila[t] = origen;
+        padresPila[t] = -1;
+        distancias[t++] = 0;
+        while (t > 0) {
+            int v = pila[--t];
+            int padre = padresPila[t];
+            long d = distancias[t];
+            if (v == destino)
+                return d;
+            for (int i = GRADO * v; i < GRADO * v + grados[v]; i++) {
+                if (vecinos[i] == padre)
+                    continue;
+                pila[t] = vecinos[i];
+                padresPila[t] = v;
+                distancias[t++] = d + longitudes[i];
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,85 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Clase para árboles de trayectorias de peso mínimo desde un origen en una
+ * {@link Grafica}. Un árbol de trayectorias es inmutable: se calcula una vez
+ * con Dijkstra y después responde la distancia a cualquier elemento en tiempo
+ * constante, y la trayectoria en tiempo proporcional a su longitud. Si la
+ * gráfica cambia, el árbol sigue describiendo la gráfica como era cuando se
+ * calculó.
+ */
+public class TrayectoriasMinimas<T> {
+
+    /* El índice de cada elemento alcanzable. */
+    private Diccionario<T, Integer> indices;
+    /* Los elementos alcanzables, en el orden en que Dijkstra los fijó. */
+    private T[] elementos;
+    /* Las distancias desde el origen. */
+    private double[] distancias;
+    /* El índice del predecesor de cada elemento; -1 para el origen. */
+    private int[] predecesores;
+
+    /* Construye el árbol; el origen es el elemento con índice 0. Sólo la
+     * gráfica construye árboles de trayectorias. */
+    TrayectoriasMinimas(Diccionario<T, Integer> indices, T[] elementos,
+                        double[] distancias, int[] predecesores) {
+        this.indices = indices;
+        this.elementos = elementos;
+        this.distancias = distancias;
+        this.predecesores = predecesores;
+    }
+
+    /**
+     * Regresa el origen de las trayectorias.
+     * @return el origen de las trayectorias.
+     */
+    public T getOrigen() {
+        return elementos[0];
+    }
+
+    /**
+     * Regresa el número de elementos alcanzables desde el origen, incluyendo
+     * al origen.
+     * @return el número de elementos alcanzables desde el origen.
+     */
+    public int getElementos() {
+        return elementos.length;
+    }
+
+    /**
+     * Nos dice si el elemento es alcanzable desde el origen.
+     * @param elemento el elemento.
+     * @return <code>true</code> si hay una trayectoria del origen al elemento,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean alcanza(T elemento) {
+        return indices.contiene(elemento);
+    }
+
+    /**
+     * Regresa el peso de una trayectoria mínima del origen al elemento.
+     * @param elemento el elemento.
+     * @return el peso de una trayectoria mínima del origen al elemento, o
+     *         {@link Double#MAX_VALUE} si no es alcanzable.
+     */
+    public double distancia(T elemento) {
+        if (!indices.contiene(elemento))
+            return Double.MAX_VALUE;
+        return distancias[indices.get(elemento)];
+    }
+
+    /**
+     * Regresa una trayectoria de peso mínimo del origen al elemento.
+     * @param elemento el elemento.
+     * @return una lista con los elementos de la trayectoria, del origen al
+     *         elemento; si el elemento no es alcanzable, una lista vacía.
+     */
+    public Lista<T> trayectoria(T elemento) {
+        Lista<T> regreso = new Lista<>();
+        if (!indices.contiene(elemento))
+            return regreso;
+        for (int i = indices.get(elemento); i >= 0; i = predecesores[i])
+            regreso.agregaInicio(elementos[i]);
+        return regreso;
+    }
+}